@@ -0,0 +1,21 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import java.util.Arrays;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler on by default, so allocation rates are reported next to
+ * throughput. Accepts every regular JMH option, passing any <code>-prof</code> replaces the default.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("-prof")) {
+            org.openjdk.jmh.Main.main(args);
+        } else {
+            String[] withGc = Arrays.copyOf(args, args.length + 2);
+            withGc[args.length] = "-prof";
+            withGc[args.length + 1] = "gc";
+            org.openjdk.jmh.Main.main(withGc);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.Constants;
+import com.joss.conductor.mobile.Locomotive;
+import com.joss.conductor.mobile.LocomotiveConfig;
+import com.joss.conductor.mobile.Platform;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.net.MalformedURLException;
+import java.util.Properties;
+
+/**
+ * Shared setup of the benchmarks.
+ */
+final class Fixtures {
+
+    static final String APP_PACKAGE_NAME = "com.joss.conductor.mobile";
+
+    private Fixtures() {
+    }
+
+    static Properties properties() {
+        Properties properties = new Properties();
+        properties.setProperty(Constants.DEFAULT_PROPERTY_PLATFORM_NAME, Platform.ANDROID.name());
+        properties.setProperty(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME, APP_PACKAGE_NAME);
+        properties.setProperty(Constants.DEFAULT_PROPERTY_TIMEOUT, "5");
+        return properties;
+    }
+
+    static LocomotiveConfig config() {
+        return new LocomotiveConfig(/*testConfig=*/null, properties());
+    }
+
+    /**
+     * A Locomotive driving an {@link AndroidDriver} that talks to a {@link StubCommandExecutor}.
+     */
+    static Locomotive stubLocomotive(LocomotiveConfig config) throws MalformedURLException {
+        return new Locomotive(config, new AndroidDriver<WebElement>(new StubCommandExecutor(), new DesiredCapabilities()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.Constants;
+import com.joss.conductor.mobile.Locomotive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.net.MalformedURLException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework overhead of lookups and validations against a driver that answers instantly, see
+ * {@link StubCommandExecutor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocomotiveBenchmark {
+
+    private static final By TITLE = By.id(Fixtures.APP_PACKAGE_NAME + ":id/title");
+
+    /**
+     * 0 fetches the page source for every text validation
+     */
+    @Param({"1000", "0"})
+    public String pageSourceCacheMillis;
+
+    private Locomotive locomotive;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        locomotive = Fixtures.stubLocomotive(Fixtures.config().withOverrides(
+                Collections.singletonMap(Constants.DEFAULT_PROPERTY_PAGE_SOURCE_CACHE_MILLIS, pageSourceCacheMillis)));
+    }
+
+    @Benchmark
+    public WebElement waitForElement() {
+        return locomotive.waitForElement(TITLE);
+    }
+
+    @Benchmark
+    public Locomotive validatePresent() {
+        return locomotive.validatePresent(TITLE);
+    }
+
+    @Benchmark
+    public Locomotive validateText() {
+        return locomotive.validateText(TITLE, StubCommandExecutor.TEXT);
+    }
+
+    @Benchmark
+    public Locomotive validateTextPresent() {
+        return locomotive.validateTextPresent(StubCommandExecutor.TEXT);
+    }
+
+    @Benchmark
+    public Locomotive validateAttribute() {
+        return locomotive.validateAttribute(TITLE, "enabled", "^(true|yes)$");
+    }
+}
@@ -0,0 +1,58 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.LocomotiveConfig;
+import com.joss.conductor.mobile.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving a config and of the accessors the framework calls on every action.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocomotiveConfigBenchmark {
+
+    private Properties properties;
+    private LocomotiveConfig config;
+
+    @Setup
+    public void setup() {
+        properties = Fixtures.properties();
+        config = new LocomotiveConfig(/*testConfig=*/null, properties);
+    }
+
+    @Benchmark
+    public LocomotiveConfig resolve() {
+        return new LocomotiveConfig(/*testConfig=*/null, properties);
+    }
+
+    @Benchmark
+    public int timeout() {
+        return config.timeout();
+    }
+
+    @Benchmark
+    public Platform platformName() {
+        return config.platformName();
+    }
+
+    @Benchmark
+    public String appPackageName() {
+        return config.appPackageName();
+    }
+}
@@ -0,0 +1,48 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.Constants;
+import com.joss.conductor.mobile.LocomotiveConfig;
+import com.joss.conductor.mobile.util.PageUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a string id into a locator for every locator strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageUtilBenchmark {
+
+    @Param({"", "id", "accessibilityId", "iosPredicate", "iosClassChain", "uiautomator", "xpath"})
+    public String locatorStrategy;
+
+    private LocomotiveConfig config;
+
+    @Setup
+    public void setup() {
+        config = Fixtures.config().withOverrides(
+                Collections.singletonMap(Constants.DEFAULT_PROPERTY_LOCATOR_STRATEGY, locatorStrategy));
+    }
+
+    @Benchmark
+    public By buildBy() {
+        return PageUtil.buildBy(config, "login_button");
+    }
+}
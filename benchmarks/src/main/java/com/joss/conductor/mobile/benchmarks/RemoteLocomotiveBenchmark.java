@@ -0,0 +1,90 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.Constants;
+import com.joss.conductor.mobile.Locomotive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end cost of lookups and validations through the real remote driver: HTTP client, JSON encoding and
+ * {@link com.joss.conductor.mobile.util.MetricsCommandExecutor}, against a {@link StubAppiumServer} that
+ * answers every command after <code>latencyMillis</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoteLocomotiveBenchmark {
+
+    private static final By TITLE = By.id(Fixtures.APP_PACKAGE_NAME + ":id/title");
+
+    /**
+     * 0 measures the client side alone, higher values show how the round trips add up on a device
+     */
+    @Param({"0", "5"})
+    public int latencyMillis;
+
+    @Param({"0"})
+    public int jitterMillis;
+
+    private StubAppiumServer server;
+    private Locomotive locomotive;
+
+    @Setup
+    public void setup() throws IOException {
+        server = StubAppiumServer.builder()
+                .defaultLatency(latencyMillis)
+                .jitter(jitterMillis)
+                .start();
+        Map<String, String> overrides = new HashMap<String, String>();
+        overrides.put(Constants.DEFAULT_PROPERTY_HUB, server.getUrl().toString());
+        // Fetch the page source for every text validation, the cached path is covered by LocomotiveBenchmark
+        overrides.put(Constants.DEFAULT_PROPERTY_PAGE_SOURCE_CACHE_MILLIS, "0");
+        locomotive = new Locomotive(Fixtures.config().withOverrides(overrides), /*AppiumDriver=*/null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        locomotive.quit();
+        server.stop();
+    }
+
+    @Benchmark
+    public WebElement waitForElement() {
+        return locomotive.waitForElement(TITLE);
+    }
+
+    @Benchmark
+    public Locomotive click() {
+        return locomotive.click(TITLE);
+    }
+
+    @Benchmark
+    public Locomotive validateText() {
+        return locomotive.validateText(TITLE, StubCommandExecutor.TEXT);
+    }
+
+    @Benchmark
+    public Locomotive validateTextPresent() {
+        return locomotive.validateTextPresent(StubCommandExecutor.TEXT);
+    }
+}
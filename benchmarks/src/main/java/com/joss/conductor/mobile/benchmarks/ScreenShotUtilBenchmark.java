@@ -0,0 +1,29 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.util.ScreenShotUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building screenshot file names, done on the test thread of every failure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenShotUtilBenchmark {
+
+    @Benchmark
+    public String createFilePathAndName() {
+        return ScreenShotUtil.createFilePathAndName("com.joss.conductor.mobile.LoginTest.test_login",
+                "Expected: <Welcome> but was: <Log in>");
+    }
+}
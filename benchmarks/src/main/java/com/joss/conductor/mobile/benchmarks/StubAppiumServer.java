@@ -0,0 +1,320 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.remote.DriverCommand;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-JVM HTTP server speaking enough of the JSON wire protocol to drive a {@link com.joss.conductor.mobile.Locomotive}
+ * through a real remote driver: sessions, element lookups, clicks, text, attributes, page source, screenshots and
+ * touch actions. Point {@link com.joss.conductor.mobile.LocomotiveConfig#hub()} at {@link #getUrl()} to use it.
+ *
+ * Every command can be delayed to simulate a device, by a fixed latency per command plus a random jitter.
+ * Every lookup finds the same element, which shows {@link StubCommandExecutor#TEXT}.
+ *
+ * Run standalone with <code>java -cp benchmarks.jar com.joss.conductor.mobile.benchmarks.StubAppiumServer
+ * [port] [latencyMillis] [jitterMillis]</code>.
+ */
+public class StubAppiumServer {
+
+    private static final String BASE_PATH = "/wd/hub";
+    private static final String SCREENSHOT_PNG =
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final Gson GSON = new Gson();
+
+    private final Map<String, Integer> latencies;
+    private final int defaultLatencyMillis;
+    private final int jitterMillis;
+    private final List<Route> routes = new ArrayList<Route>();
+    private final Map<String, Integer> counts = new ConcurrentHashMap<String, Integer>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private StubAppiumServer(Builder builder) {
+        this.latencies = new HashMap<String, Integer>(builder.latencies);
+        this.defaultLatencyMillis = builder.defaultLatencyMillis;
+        this.jitterMillis = builder.jitterMillis;
+
+        route("POST", "/session", DriverCommand.NEW_SESSION);
+        route("DELETE", "/session/[^/]+", DriverCommand.QUIT);
+        route("POST", "/session/[^/]+/element", DriverCommand.FIND_ELEMENT);
+        route("POST", "/session/[^/]+/elements", DriverCommand.FIND_ELEMENTS);
+        route("POST", "/session/[^/]+/element/[^/]+/element", DriverCommand.FIND_CHILD_ELEMENT);
+        route("POST", "/session/[^/]+/element/[^/]+/elements", DriverCommand.FIND_CHILD_ELEMENTS);
+        route("POST", "/session/[^/]+/element/[^/]+/click", DriverCommand.CLICK_ELEMENT);
+        route("POST", "/session/[^/]+/element/[^/]+/clear", DriverCommand.CLEAR_ELEMENT);
+        route("POST", "/session/[^/]+/element/[^/]+/value", DriverCommand.SEND_KEYS_TO_ELEMENT);
+        route("GET", "/session/[^/]+/element/[^/]+/text", DriverCommand.GET_ELEMENT_TEXT);
+        route("GET", "/session/[^/]+/element/[^/]+/attribute/[^/]+", DriverCommand.GET_ELEMENT_ATTRIBUTE);
+        route("GET", "/session/[^/]+/element/[^/]+/rect", DriverCommand.GET_ELEMENT_RECT);
+        route("GET", "/session/[^/]+/element/[^/]+/location", DriverCommand.GET_ELEMENT_LOCATION);
+        route("GET", "/session/[^/]+/element/[^/]+/size", DriverCommand.GET_ELEMENT_SIZE);
+        route("GET", "/session/[^/]+/element/[^/]+/displayed", DriverCommand.IS_ELEMENT_DISPLAYED);
+        route("GET", "/session/[^/]+/source", DriverCommand.GET_PAGE_SOURCE);
+        route("GET", "/session/[^/]+/screenshot", DriverCommand.SCREENSHOT);
+        route("GET", "/session/[^/]+/window/[^/]+/size", DriverCommand.GET_CURRENT_WINDOW_SIZE);
+        route("POST", "/session/[^/]+/orientation", DriverCommand.SET_SCREEN_ORIENTATION);
+        route("POST", "/session/[^/]+/touch/perform", "performTouchAction");
+        route("POST", "/session/[^/]+/touch/multi/perform", "performMultiTouchAction");
+        route("POST", "/session/[^/]+/appium/device/hide_keyboard", "hideKeyboard");
+        route("POST", "/session/[^/]+/appium/app/reset", "resetApp");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubAppiumServer server = builder()
+                .port(args.length > 0 ? Integer.parseInt(args[0]) : 4723)
+                .defaultLatency(args.length > 1 ? Integer.parseInt(args[1]) : 0)
+                .jitter(args.length > 2 ? Integer.parseInt(args[2]) : 0)
+                .start();
+        System.out.println("Stub Appium server listening on " + server.getUrl());
+    }
+
+    /**
+     * @return The hub URL to configure, i.e. <code>http://127.0.0.1:4723/wd/hub</code>
+     */
+    public URL getUrl() {
+        try {
+            return new URL("http", "127.0.0.1", server.getAddress().getPort(), BASE_PATH);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return How many times the command was received, keyed like {@link DriverCommand}
+     */
+    public int getCount(String command) {
+        Integer count = counts.get(command);
+        return count == null ? 0 : count;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private StubAppiumServer start(int port) throws IOException {
+        // Without TCP_NODELAY small replies wait for the client's delayed ACK, adding ~40ms to every command
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    respond(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+        return this;
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        drain(exchange.getRequestBody());
+        String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+        String command = null;
+        for (Route route : routes) {
+            if (route.method.equals(exchange.getRequestMethod()) && route.path.matcher(path).matches()) {
+                command = route.command;
+                break;
+            }
+        }
+        if (command == null) {
+            send(exchange, 404, reply(null, 9, "Unknown command: " + exchange.getRequestMethod() + " " + path));
+            return;
+        }
+        synchronized (counts) {
+            counts.put(command, getCount(command) + 1);
+        }
+        delay(command);
+        send(exchange, 200, reply(getSessionId(path, command), 0, getValue(command, path)));
+    }
+
+    private void delay(String command) {
+        Integer latency = latencies.get(command);
+        int millis = latency == null ? defaultLatencyMillis : latency;
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextInt(-jitterMillis, jitterMillis + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String getSessionId(String path, String command) {
+        if (DriverCommand.NEW_SESSION.equals(command)) {
+            return UUID.randomUUID().toString();
+        }
+        String[] segments = path.split("/");
+        return segments.length > 2 ? segments[2] : null;
+    }
+
+    private static Object getValue(String command, String path) {
+        if (DriverCommand.NEW_SESSION.equals(command)) {
+            Map<String, Object> capabilities = new HashMap<String, Object>();
+            capabilities.put("platformName", "Android");
+            return capabilities;
+        } else if (DriverCommand.FIND_ELEMENT.equals(command) || DriverCommand.FIND_CHILD_ELEMENT.equals(command)) {
+            return element();
+        } else if (DriverCommand.FIND_ELEMENTS.equals(command) || DriverCommand.FIND_CHILD_ELEMENTS.equals(command)) {
+            return Collections.singletonList(element());
+        } else if (DriverCommand.GET_ELEMENT_TEXT.equals(command)) {
+            return StubCommandExecutor.TEXT;
+        } else if (DriverCommand.GET_ELEMENT_ATTRIBUTE.equals(command)) {
+            return StubCommandExecutor.ATTRIBUTE_VALUE;
+        } else if (DriverCommand.GET_ELEMENT_RECT.equals(command)) {
+            return dimensions(0, 0, 100, 50);
+        } else if (DriverCommand.GET_ELEMENT_LOCATION.equals(command)) {
+            return dimensions(0, 0, null, null);
+        } else if (DriverCommand.GET_ELEMENT_SIZE.equals(command)) {
+            return dimensions(null, null, 100, 50);
+        } else if (DriverCommand.GET_CURRENT_WINDOW_SIZE.equals(command)) {
+            return dimensions(null, null, 1080, 1920);
+        } else if (DriverCommand.IS_ELEMENT_DISPLAYED.equals(command)) {
+            return true;
+        } else if (DriverCommand.GET_PAGE_SOURCE.equals(command)) {
+            return StubCommandExecutor.PAGE_SOURCE;
+        } else if (DriverCommand.SCREENSHOT.equals(command)) {
+            return SCREENSHOT_PNG;
+        }
+        return null;
+    }
+
+    private static Map<String, Object> element() {
+        return Collections.<String, Object>singletonMap("ELEMENT", StubCommandExecutor.ELEMENT_ID);
+    }
+
+    private static Map<String, Object> dimensions(Integer x, Integer y, Integer width, Integer height) {
+        Map<String, Object> dimensions = new LinkedHashMap<String, Object>();
+        if (x != null) {
+            dimensions.put("x", x);
+            dimensions.put("y", y);
+        }
+        if (width != null) {
+            dimensions.put("width", width);
+            dimensions.put("height", height);
+        }
+        return dimensions;
+    }
+
+    private static String reply(String sessionId, int status, Object value) {
+        Map<String, Object> reply = new LinkedHashMap<String, Object>();
+        reply.put("sessionId", sessionId);
+        reply.put("status", status);
+        reply.put("value", value);
+        return GSON.toJson(reply);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(bytes);
+        out.close();
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (in.read(buffer) != -1) {
+            // The stub answers the same whatever the payload
+        }
+        in.close();
+    }
+
+    private void route(String method, String path, String command) {
+        routes.add(new Route(method, Pattern.compile(path), command));
+    }
+
+    private static class Route {
+        private final String method;
+        private final Pattern path;
+        private final String command;
+
+        Route(String method, Pattern path, String command) {
+            this.method = method;
+            this.path = path;
+            this.command = command;
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, Integer> latencies = new HashMap<String, Integer>();
+        private int port;
+        private int defaultLatencyMillis;
+        private int jitterMillis;
+
+        /**
+         * @param port Port to listen on, 0 picks a free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Delay of every command without its own latency.
+         */
+        public Builder defaultLatency(int millis) {
+            this.defaultLatencyMillis = millis;
+            return this;
+        }
+
+        /**
+         * @param command The command name, see {@link DriverCommand}
+         */
+        public Builder latency(String command, int millis) {
+            latencies.put(command, millis);
+            return this;
+        }
+
+        /**
+         * Every delay is moved by a random amount between <code>-millis</code> and <code>millis</code>.
+         */
+        public Builder jitter(int millis) {
+            this.jitterMillis = millis;
+            return this;
+        }
+
+        public StubAppiumServer start() throws IOException {
+            return new StubAppiumServer(this).start(port);
+        }
+    }
+}
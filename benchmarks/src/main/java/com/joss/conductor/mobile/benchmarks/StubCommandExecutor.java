@@ -0,0 +1,73 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.Response;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Answers driver commands in memory without a server, so benchmarks measure only framework overhead.
+ *
+ * Every lookup finds the same element, which displays {@link #TEXT} and has every attribute set to
+ * {@link #ATTRIBUTE_VALUE}.
+ */
+public class StubCommandExecutor extends HttpCommandExecutor {
+
+    public static final String SESSION_ID = "stub-session";
+    public static final String ELEMENT_ID = "stub-element";
+    public static final String TEXT = "Welcome";
+    public static final String ATTRIBUTE_VALUE = "true";
+    public static final String PAGE_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout resource-id=\"com.joss.conductor.mobile:id/root\">"
+            + "<android.widget.TextView resource-id=\"com.joss.conductor.mobile:id/title\" text=\"Welcome\"/>"
+            + "<android.widget.Button resource-id=\"com.joss.conductor.mobile:id/login\" text=\"Log in\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    public StubCommandExecutor() throws MalformedURLException {
+        super(new URL("http://localhost:4723/wd/hub"));
+    }
+
+    @Override
+    public Response execute(Command command) {
+        Response response = new Response();
+        response.setSessionId(SESSION_ID);
+        response.setStatus(0);
+        response.setValue(getValue(command.getName(), command.getParameters()));
+        return response;
+    }
+
+    private static Object getValue(String command, Map<String, ?> parameters) {
+        if (DriverCommand.NEW_SESSION.equals(command)) {
+            Map<String, Object> capabilities = new HashMap<String, Object>();
+            capabilities.put("platformName", "Android");
+            return capabilities;
+        } else if (DriverCommand.FIND_ELEMENT.equals(command)
+                || DriverCommand.FIND_CHILD_ELEMENT.equals(command)) {
+            return element();
+        } else if (DriverCommand.FIND_ELEMENTS.equals(command)
+                || DriverCommand.FIND_CHILD_ELEMENTS.equals(command)) {
+            return Collections.singletonList(element());
+        } else if (DriverCommand.GET_ELEMENT_TEXT.equals(command)) {
+            return TEXT;
+        } else if (DriverCommand.GET_ELEMENT_ATTRIBUTE.equals(command)) {
+            return ATTRIBUTE_VALUE;
+        } else if (DriverCommand.IS_ELEMENT_DISPLAYED.equals(command)) {
+            return true;
+        } else if (DriverCommand.GET_PAGE_SOURCE.equals(command)) {
+            return PAGE_SOURCE;
+        }
+        return null;
+    }
+
+    private static Map<String, Object> element() {
+        return Collections.<String, Object>singletonMap("ELEMENT", ELEMENT_ID);
+    }
+}
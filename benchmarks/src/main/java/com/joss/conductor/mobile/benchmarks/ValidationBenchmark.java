@@ -0,0 +1,136 @@
+package com.joss.conductor.mobile.benchmarks;
+
+import com.joss.conductor.mobile.Locomotive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.net.MalformedURLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the passing validate* checks alone, against an element that answers without a driver. Run with the gc
+ * profiler, the default of {@link BenchmarkMain}, a passing check should allocate nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final WebElement element = new FixedElement();
+    private Locomotive locomotive;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        locomotive = Fixtures.stubLocomotive(Fixtures.config());
+    }
+
+    @Benchmark
+    public Locomotive validateText() {
+        return locomotive.validateText(element, StubCommandExecutor.TEXT);
+    }
+
+    @Benchmark
+    public Locomotive validateTextIgnoreCase() {
+        return locomotive.validateTextIgnoreCase(element, "WELCOME");
+    }
+
+    @Benchmark
+    public Locomotive validateTextNot() {
+        return locomotive.validateTextNot(element, "Goodbye");
+    }
+
+    @Benchmark
+    public Locomotive validateAttributeRegex() {
+        return locomotive.validateAttribute(element, "enabled", "^(true|yes)$");
+    }
+
+    /**
+     * An element with constant text and attributes, so only the framework is measured.
+     */
+    private static class FixedElement implements WebElement {
+
+        public String getText() {
+            return StubCommandExecutor.TEXT;
+        }
+
+        public String getAttribute(String name) {
+            return StubCommandExecutor.ATTRIBUTE_VALUE;
+        }
+
+        public void click() {
+        }
+
+        public void submit() {
+        }
+
+        public void sendKeys(CharSequence... keysToSend) {
+        }
+
+        public void clear() {
+        }
+
+        public String getTagName() {
+            return "android.widget.TextView";
+        }
+
+        public boolean isSelected() {
+            return false;
+        }
+
+        public boolean isEnabled() {
+            return true;
+        }
+
+        public <T extends WebElement> List<T> findElements(By by) {
+            return Collections.emptyList();
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T extends WebElement> T findElement(By by) {
+            return (T) this;
+        }
+
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        public Dimension getSize() {
+            return new Dimension(100, 50);
+        }
+
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+import io.appium.java_client.service.local.flags.GeneralServerFlag;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JVM wide manager of local Appium servers.
+ *
+ * Instead of every test starting and stopping its own Node process, up to N servers are started on free
+ * ports the first time a local driver is needed and shared by every test afterwards. A server is health
+ * checked before it is handed out and replaced if it died. All servers are stopped at JVM exit, after the
+ * pooled sessions running on them, see {@link ShutdownHook}.
+ */
+public class AppiumServerManager {
+
+    private static final AppiumServerManager INSTANCE = new AppiumServerManager();
+
+    private final List<Server> servers = new ArrayList<Server>();
+
+    AppiumServerManager() {
+    }
+
+    public static AppiumServerManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the URL of the least used healthy local server, starting servers as needed.
+     *
+     * @param logLevel The Appium log level the servers are started with
+     * @param maxServers How many servers may run at the same time
+     * @return The URL a driver should connect to
+     */
+    public synchronized URL acquire(String logLevel, int maxServers) {
+        ShutdownHook.register();
+        removeDeadServers();
+
+        Server server = leastUsed();
+        if (server == null || (server.leases > 0 && servers.size() < Math.max(1, maxServers))) {
+            server = start(logLevel);
+            servers.add(server);
+        }
+        server.leases++;
+        return server.url;
+    }
+
+    /**
+     * Tell the manager a driver connected to the given server has quit.
+     *
+     * @param url The URL returned from {@link #acquire(String, int)}
+     */
+    public synchronized void release(URL url) {
+        for (Server server : servers) {
+            if (server.url.equals(url) && server.leases > 0) {
+                server.leases--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop every local server.
+     */
+    public synchronized void shutdown() {
+        for (Server server : servers) {
+            server.service.stop();
+        }
+        servers.clear();
+    }
+
+    public synchronized int serverCount() {
+        return servers.size();
+    }
+
+    private Server leastUsed() {
+        Server leastUsed = null;
+        for (Server server : servers) {
+            if (leastUsed == null || server.leases < leastUsed.leases) {
+                leastUsed = server;
+            }
+        }
+        return leastUsed;
+    }
+
+    private void removeDeadServers() {
+        Iterator<Server> iterator = servers.iterator();
+        while (iterator.hasNext()) {
+            Server server = iterator.next();
+            if (!server.service.isRunning()) {
+                System.err.println("WARN: Local Appium server at " + server.url + " is not responding, replacing it");
+                server.service.stop();
+                iterator.remove();
+            }
+        }
+    }
+
+    private Server start(String logLevel) {
+        AppiumDriverLocalService service = AppiumDriverLocalService.buildService(new AppiumServiceBuilder()
+                .usingAnyFreePort()
+                .withArgument(GeneralServerFlag.LOG_LEVEL, logLevel == null || logLevel.equals("")
+                        ? "debug"
+                        : logLevel));
+        service.start();
+        return new Server(service);
+    }
+
+    private static class Server {
+        private final AppiumDriverLocalService service;
+        private final URL url;
+        private int leases;
+
+        Server(AppiumDriverLocalService service) {
+            this.service = service;
+            this.url = service.getUrl();
+        }
+    }
+}
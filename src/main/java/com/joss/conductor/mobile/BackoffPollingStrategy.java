@@ -0,0 +1,75 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter.
+ *
+ * Polls start tight so fast screens are not quantized to a full second, and back off so elements that
+ * never show up do not flood the server. The first delay of every locator adapts to how long it took
+ * to appear the previous times it was polled.
+ */
+public class BackoffPollingStrategy implements PollingStrategy {
+
+    public static final long DEFAULT_INITIAL_DELAY_MILLIS = 50;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+    public static final double DEFAULT_JITTER = 0.2;
+
+    private static final int MAX_TRACKED_LOCATORS = 1024;
+
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final double jitter;
+    private final Map<String, Long> appearanceMillis = new ConcurrentHashMap<String, Long>();
+
+    public BackoffPollingStrategy() {
+        this(DEFAULT_INITIAL_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MULTIPLIER, DEFAULT_JITTER);
+    }
+
+    /**
+     * @param initialDelayMillis Delay after the first miss
+     * @param maxDelayMillis Upper bound of a single delay
+     * @param multiplier Growth of the delay after each miss
+     * @param jitter Fraction of the delay that is randomized, 0.0 to 1.0
+     */
+    public BackoffPollingStrategy(long initialDelayMillis, long maxDelayMillis, double multiplier, double jitter) {
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    public long nextDelay(By by, int attempt) {
+        double delay = firstDelay(by) * Math.pow(multiplier, Math.max(0, attempt - 1));
+        delay = Math.min(delay, maxDelayMillis);
+        if (jitter > 0) {
+            delay += delay * jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        }
+        return Math.max(0, Math.round(delay));
+    }
+
+    public void recordFound(By by, long elapsedMillis) {
+        String key = by.toString();
+        Long previous = appearanceMillis.get(key);
+        if (previous == null && appearanceMillis.size() >= MAX_TRACKED_LOCATORS) {
+            appearanceMillis.clear();
+        }
+        // Exponentially weighted so a single slow appearance does not dominate
+        appearanceMillis.put(key, previous == null ? elapsedMillis : (previous * 3 + elapsedMillis) / 4);
+    }
+
+    private long firstDelay(By by) {
+        Long expected = appearanceMillis.get(by.toString());
+        if (expected == null) {
+            return initialDelayMillis;
+        }
+        // Start at half the usual appearance time, a lookup before that is most likely wasted
+        return Math.max(initialDelayMillis, Math.min(expected / 2, maxDelayMillis));
+    }
+}
@@ -0,0 +1,27 @@
+package com.joss.conductor.mobile;
+
+/**
+ * The layer a {@link LocomotiveConfig} value was resolved from.
+ */
+public enum ConfigSource {
+    /**
+     * JVM argument or environment variable.
+     */
+    JVM,
+    /**
+     * {@link Config} annotation on the test.
+     */
+    TEST,
+    /**
+     * default.properties
+     */
+    PROPERTIES,
+    /**
+     * Built in default, nothing configured the value.
+     */
+    DEFAULT,
+    /**
+     * {@link LocomotiveConfig#withOverrides(java.util.Map)}
+     */
+    OVERRIDE
+}
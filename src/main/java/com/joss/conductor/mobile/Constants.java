@@ -34,6 +34,17 @@ public class Constants {
     public static final String JVM_CONDUCTOR_AVD = "conductorAVD";
     public static final String JVM_CONDUCTOR_APP_ACTIVITY = "conductorAppActivity";
     public static final String JVM_CONDUCTOR_APP_WAITACTIVITY = "conductorAppWaitActivity";
+    public static final String JVM_CONDUCTOR_SESSION_REUSE = "conductorSessionReuse";
+    public static final String JVM_CONDUCTOR_LOCAL_SERVERS = "conductorLocalServers";
+    public static final String JVM_CONDUCTOR_DEVICES = "conductorDevices";
+    public static final String JVM_CONDUCTOR_PAGE_SOURCE_CACHE_MILLIS = "conductorPageSourceCacheMillis";
+    public static final String JVM_CONDUCTOR_LOCAL_HIERARCHY = "conductorLocalHierarchy";
+    public static final String JVM_CONDUCTOR_LOCATOR_STRATEGY = "conductorLocatorStrategy";
+    public static final String JVM_CONDUCTOR_WATCH_PROPERTIES = "conductorWatchProperties";
+    public static final String JVM_CONDUCTOR_SWIPE_VELOCITY = "conductorSwipeVelocity";
+    public static final String JVM_CONDUCTOR_SWIPE_MIN_MILLIS = "conductorSwipeMinMillis";
+    public static final String JVM_CONDUCTOR_SWIPE_MAX_MILLIS = "conductorSwipeMaxMillis";
+    public static final String JVM_CONDUCTOR_ELEMENT_CACHE = "conductorElementCache";
 
     public static final String DEFAULT_PROPERTY_APP_PACKAGE_NAME = "appPackageName";
     public static final String DEFAULT_PROPERTY_PLATFORM_NAME = "platformName";
@@ -62,4 +73,14 @@ public class Constants {
     public static final String DEFAULT_PROPERTY_AVD = "avd";
     public static final String DEFAULT_PROPERTY_APP_ACTIVITY = "appActivity";
     public static final String DEFAULT_PROPERTY_APP_WAITACTIVITY = "appWaitActivity";
+    public static final String DEFAULT_PROPERTY_SESSION_REUSE = "sessionReuse";
+    public static final String DEFAULT_PROPERTY_LOCAL_SERVERS = "localServers";
+    public static final String DEFAULT_PROPERTY_DEVICES = "devices";
+    public static final String DEFAULT_PROPERTY_PAGE_SOURCE_CACHE_MILLIS = "pageSourceCacheMillis";
+    public static final String DEFAULT_PROPERTY_LOCAL_HIERARCHY = "localHierarchy";
+    public static final String DEFAULT_PROPERTY_SWIPE_VELOCITY = "swipeVelocity";
+    public static final String DEFAULT_PROPERTY_SWIPE_MIN_MILLIS = "swipeMinMillis";
+    public static final String DEFAULT_PROPERTY_SWIPE_MAX_MILLIS = "swipeMaxMillis";
+    public static final String DEFAULT_PROPERTY_ELEMENT_CACHE = "elementCache";
+    public static final String DEFAULT_PROPERTY_LOCATOR_STRATEGY = "locatorStrategy";
 }
@@ -0,0 +1,61 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A device that can be leased from the {@link DeviceRegistry}.
+ *
+ * Parsed from a <code>devices</code> entry, where the first field is the UDID and the remaining
+ * <code>;</code> separated fields are capabilities, e.g. <code>emulator-5554;deviceName=Pixel;platformVersion=8.0</code>
+ */
+public class Device {
+
+    private final String udid;
+    private final Map<String, String> capabilities;
+
+    public Device(String udid, Map<String, String> capabilities) {
+        this.udid = udid;
+        this.capabilities = Collections.unmodifiableMap(new LinkedHashMap<String, String>(capabilities));
+    }
+
+    public static Device parse(String entry) {
+        String[] fields = entry.trim().split(";");
+        Map<String, String> capabilities = new LinkedHashMap<String, String>();
+        for (int i = 1; i < fields.length; i++) {
+            int separator = fields[i].indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid device capability: " + fields[i]);
+            }
+            capabilities.put(fields[i].substring(0, separator).trim(), fields[i].substring(separator + 1).trim());
+        }
+        return new Device(fields[0].trim(), capabilities);
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public Map<String, String> getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Point the capabilities at this device.
+     */
+    public void applyTo(DesiredCapabilities desiredCapabilities) {
+        desiredCapabilities.setCapability(MobileCapabilityType.UDID, udid);
+        for (Map.Entry<String, String> capability : capabilities.entrySet()) {
+            desiredCapabilities.setCapability(capability.getKey(), capability.getValue());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return udid;
+    }
+}
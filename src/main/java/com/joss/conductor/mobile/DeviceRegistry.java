@@ -0,0 +1,91 @@
+package com.joss.conductor.mobile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Leases one device to each test thread so suites can run in parallel against a rack of devices.
+ *
+ * When every device is busy, {@link #lease()} blocks and waiting threads are served in arrival order.
+ * A thread keeps its device until {@link #release()} is called from {@link Locomotive#quit()} or the
+ * {@link TestListener}, calling {@link #lease()} again from the same thread returns the same device.
+ */
+public class DeviceRegistry {
+
+    private static final Map<String, DeviceRegistry> REGISTRIES = new HashMap<String, DeviceRegistry>();
+
+    private final List<Device> devices;
+    private final BlockingQueue<Device> available;
+    private final ThreadLocal<Device> leased = new ThreadLocal<Device>();
+
+    public DeviceRegistry(List<Device> devices) {
+        if (devices.isEmpty()) {
+            throw new IllegalArgumentException("A device registry needs at least one device");
+        }
+        this.devices = new ArrayList<Device>(devices);
+        this.available = new ArrayBlockingQueue<Device>(devices.size(), /*fair=*/true, devices);
+    }
+
+    /**
+     * Get the JVM wide registry for a <code>devices</code> property value.
+     *
+     * @param spec Comma separated list of devices, see {@link Device#parse(String)}
+     * @return The registry shared by every test configured with the same devices
+     */
+    public static synchronized DeviceRegistry forDevices(String spec) {
+        DeviceRegistry registry = REGISTRIES.get(spec);
+        if (registry == null) {
+            List<Device> devices = new ArrayList<Device>();
+            for (String entry : spec.split(",")) {
+                if (!entry.trim().isEmpty()) {
+                    devices.add(Device.parse(entry));
+                }
+            }
+            registry = new DeviceRegistry(devices);
+            REGISTRIES.put(spec, registry);
+        }
+        return registry;
+    }
+
+    /**
+     * Lease a device to the current thread, waiting until one is free.
+     *
+     * @return The leased device
+     */
+    public Device lease() {
+        Device device = leased.get();
+        if (device == null) {
+            try {
+                device = available.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a free device", e);
+            }
+            leased.set(device);
+        }
+        return device;
+    }
+
+    /**
+     * Give the device held by the current thread back, does nothing if it holds none.
+     */
+    public void release() {
+        Device device = leased.get();
+        if (device != null) {
+            leased.remove();
+            available.add(device);
+        }
+    }
+
+    public int size() {
+        return devices.size();
+    }
+
+    public int availableCount() {
+        return available.size();
+    }
+}
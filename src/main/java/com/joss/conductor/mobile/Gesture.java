@@ -0,0 +1,124 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.MultiTouchAction;
+import io.appium.java_client.TouchAction;
+import org.openqa.selenium.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composes pinches, zooms and fingers moving at the same time, with pauses between their steps.
+ *
+ * Steps added to the same finger run one after another, separate fingers move at the same time. Repeated swipes
+ * are not batched: a finger swipes once per gesture, and swipes chained on one finger are not told apart from a
+ * long press by every driver, perform one gesture per swipe instead. Create one with {@link Locomotive#gesture()}.
+ */
+public class Gesture {
+
+    private final Locomotive locomotive;
+    private final boolean relativeMoves;
+    private final List<TouchAction> fingers = new ArrayList<TouchAction>();
+    private TouchAction finger;
+    private boolean fingerSwiped;
+
+    Gesture(Locomotive locomotive) {
+        this.locomotive = locomotive;
+        // iOS treats the moveTo after a press as an offset from the press, like IOSDriver#swipe
+        this.relativeMoves = locomotive.configuration.platformName() == Platform.IOS;
+    }
+
+    /**
+     * Start a new finger, the following steps run at the same time as the steps added so far.
+     */
+    public Gesture finger() {
+        finger = null;
+        return this;
+    }
+
+    /**
+     * @throws IllegalStateException if the current finger already swiped
+     */
+    public Gesture swipe(Point from, Point to, int durationMillis) {
+        TouchAction action = currentFinger();
+        if (fingerSwiped) {
+            throw new IllegalStateException("A finger swipes once per gesture, perform the gesture and swipe again");
+        }
+        press(action, from, to, durationMillis);
+        fingerSwiped = true;
+        return this;
+    }
+
+    public Gesture pause(int millis) {
+        currentFinger().waitAction(millis);
+        return this;
+    }
+
+    /**
+     * Two fingers moving from <code>distance</code> pixels above and below the center towards it.
+     */
+    public Gesture pinch(Point center, int distance, int durationMillis) {
+        press(newFinger(), new Point(center.getX(), center.getY() - distance), center, durationMillis);
+        press(newFinger(), new Point(center.getX(), center.getY() + distance), center, durationMillis);
+        finger = null;
+        return this;
+    }
+
+    /**
+     * Two fingers moving from the center to <code>distance</code> pixels above and below it.
+     */
+    public Gesture zoom(Point center, int distance, int durationMillis) {
+        press(newFinger(), center, new Point(center.getX(), center.getY() - distance), durationMillis);
+        press(newFinger(), center, new Point(center.getX(), center.getY() + distance), durationMillis);
+        finger = null;
+        return this;
+    }
+
+    public int getFingerCount() {
+        return fingers.size();
+    }
+
+    /**
+     * Send the whole gesture to the server, does nothing if no step was added.
+     */
+    public Locomotive perform() {
+        if (fingers.isEmpty()) {
+            return locomotive;
+        }
+        locomotive.onScreenChanged();
+        if (fingers.size() == 1) {
+            locomotive.driver.performTouchAction(fingers.get(0));
+        } else {
+            MultiTouchAction multiTouch = new MultiTouchAction(locomotive.driver);
+            for (TouchAction action : fingers) {
+                multiTouch.add(action);
+            }
+            locomotive.driver.performMultiTouchAction(multiTouch);
+        }
+        return locomotive;
+    }
+
+    private void press(TouchAction action, Point from, Point to, int durationMillis) {
+        action.press(from.getX(), from.getY()).waitAction(durationMillis);
+        if (relativeMoves) {
+            action.moveTo(to.getX() - from.getX(), to.getY() - from.getY());
+        } else {
+            action.moveTo(to.getX(), to.getY());
+        }
+        action.release();
+    }
+
+    private TouchAction currentFinger() {
+        if (finger == null) {
+            finger = newFinger();
+        }
+        return finger;
+    }
+
+    private TouchAction newFinger() {
+        fingerSwiped = false;
+        TouchAction action = new TouchAction(locomotive.driver);
+        fingers.add(action);
+        return action;
+    }
+}
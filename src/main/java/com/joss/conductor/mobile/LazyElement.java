@@ -0,0 +1,225 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An element looked up with {@link Locomotive#waitForElement(By)} the first time it is used, see
+ * {@link Locomotive#element(By)}.
+ *
+ * The element found is kept and used directly. When it went stale it is looked up again and the call is
+ * retried once, a second failure is thrown to the caller. Clicking, submitting, typing and clearing may change
+ * the screen, they drop the page source and elements cached by the {@link Locomotive} like its own actions do.
+ *
+ * The element found and the stale count are safe to share between threads, a race only looks the element up
+ * twice. Lookups go through the {@link Locomotive}, which is meant to be used by one test thread at a time.
+ */
+public class LazyElement implements WebElement, WrapsElement {
+
+    private final Locomotive locomotive;
+    private final By by;
+    private final AtomicReference<WebElement> element = new AtomicReference<WebElement>();
+    private final AtomicInteger staleCount = new AtomicInteger();
+
+    LazyElement(Locomotive locomotive, By by) {
+        this.locomotive = locomotive;
+        this.by = by;
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    /**
+     * @return How many times this element went stale and was looked up again
+     */
+    public int getStaleCount() {
+        return staleCount.get();
+    }
+
+    /**
+     * @return The element found, looking it up if it was not used yet
+     */
+    public WebElement getWrappedElement() {
+        WebElement found = element.get();
+        if (found == null) {
+            found = locomotive.waitForElement(by);
+            element.compareAndSet(null, found);
+        }
+        return found;
+    }
+
+    private <T> T call(Locomotive.ElementCall<T> call) {
+        WebElement current = getWrappedElement();
+        try {
+            return call.call(current);
+        } catch (StaleElementReferenceException e) {
+            staleCount.incrementAndGet();
+            // Another thread may have looked the element up again already
+            element.compareAndSet(current, null);
+            locomotive.onStaleElement(by);
+            return call.call(getWrappedElement());
+        }
+    }
+
+    public void click() {
+        call(new Locomotive.ElementCall<Void>() {
+            public Void call(WebElement element) {
+                locomotive.onScreenChanged();
+                element.click();
+                return null;
+            }
+        });
+    }
+
+    public void submit() {
+        call(new Locomotive.ElementCall<Void>() {
+            public Void call(WebElement element) {
+                locomotive.onScreenChanged();
+                element.submit();
+                return null;
+            }
+        });
+    }
+
+    public void sendKeys(final CharSequence... keysToSend) {
+        call(new Locomotive.ElementCall<Void>() {
+            public Void call(WebElement element) {
+                locomotive.onScreenChanged();
+                element.sendKeys(keysToSend);
+                return null;
+            }
+        });
+    }
+
+    public void clear() {
+        call(new Locomotive.ElementCall<Void>() {
+            public Void call(WebElement element) {
+                locomotive.onScreenChanged();
+                element.clear();
+                return null;
+            }
+        });
+    }
+
+    public String getTagName() {
+        return call(new Locomotive.ElementCall<String>() {
+            public String call(WebElement element) {
+                return element.getTagName();
+            }
+        });
+    }
+
+    public String getAttribute(final String name) {
+        return call(new Locomotive.ElementCall<String>() {
+            public String call(WebElement element) {
+                return element.getAttribute(name);
+            }
+        });
+    }
+
+    public boolean isSelected() {
+        return call(new Locomotive.ElementCall<Boolean>() {
+            public Boolean call(WebElement element) {
+                return element.isSelected();
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return call(new Locomotive.ElementCall<Boolean>() {
+            public Boolean call(WebElement element) {
+                return element.isEnabled();
+            }
+        });
+    }
+
+    public String getText() {
+        return call(new Locomotive.ElementCall<String>() {
+            public String call(WebElement element) {
+                return element.getText();
+            }
+        });
+    }
+
+    public <T extends WebElement> List<T> findElements(final By by) {
+        return call(new Locomotive.ElementCall<List<T>>() {
+            public List<T> call(WebElement element) {
+                return element.findElements(by);
+            }
+        });
+    }
+
+    public <T extends WebElement> T findElement(final By by) {
+        return call(new Locomotive.ElementCall<T>() {
+            public T call(WebElement element) {
+                return element.findElement(by);
+            }
+        });
+    }
+
+    public boolean isDisplayed() {
+        return call(new Locomotive.ElementCall<Boolean>() {
+            public Boolean call(WebElement element) {
+                return element.isDisplayed();
+            }
+        });
+    }
+
+    public Point getLocation() {
+        return call(new Locomotive.ElementCall<Point>() {
+            public Point call(WebElement element) {
+                return element.getLocation();
+            }
+        });
+    }
+
+    public Dimension getSize() {
+        return call(new Locomotive.ElementCall<Dimension>() {
+            public Dimension call(WebElement element) {
+                return element.getSize();
+            }
+        });
+    }
+
+    public Rectangle getRect() {
+        return call(new Locomotive.ElementCall<Rectangle>() {
+            public Rectangle call(WebElement element) {
+                return element.getRect();
+            }
+        });
+    }
+
+    public String getCssValue(final String propertyName) {
+        return call(new Locomotive.ElementCall<String>() {
+            public String call(WebElement element) {
+                return element.getCssValue(propertyName);
+            }
+        });
+    }
+
+    public <X> X getScreenshotAs(final OutputType<X> target) throws WebDriverException {
+        return call(new Locomotive.ElementCall<X>() {
+            public X call(WebElement element) {
+                return element.getScreenshotAs(target);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        WebElement found = element.get();
+        return found == null ? "Lazy element " + by : found.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.joss.conductor.mobile;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How {@link com.joss.conductor.mobile.util.PageUtil#buildBy(Config, String)} turns a string id into a locator.
+ */
+public enum LocatorStrategy {
+    /**
+     * Android resource-id (<code>package:id/identifier</code>), the default on Android.
+     */
+    ID("id"),
+    /**
+     * Accessibility id, the default on iOS.
+     */
+    ACCESSIBILITY_ID("accessibilityId"),
+    /**
+     * iOS NSPredicate on the element name.
+     */
+    IOS_PREDICATE("iosPredicate"),
+    /**
+     * iOS class chain on the element name.
+     */
+    IOS_CLASS_CHAIN("iosClassChain"),
+    /**
+     * Android UiAutomator resourceId selector.
+     */
+    UIAUTOMATOR("uiautomator"),
+    /**
+     * <code>//*[@name='identifier']</code>, the slowest strategy, on iOS it's used as the fallback of the others.
+     */
+    XPATH("xpath");
+
+    private static final Map<String, LocatorStrategy> BY_NAME = new HashMap<String, LocatorStrategy>();
+
+    static {
+        for (LocatorStrategy value : values()) {
+            BY_NAME.put(value.strategy.toLowerCase(Locale.ROOT), value);
+            BY_NAME.put(value.name().toLowerCase(Locale.ROOT), value);
+        }
+    }
+
+    private final String strategy;
+    LocatorStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @param strategy Name of the strategy as used in properties, i.e. <code>accessibilityId</code>
+     * @return The strategy, or null if the name is empty
+     */
+    public static LocatorStrategy fromString(String strategy) {
+        if (strategy == null || strategy.isEmpty()) {
+            return null;
+        }
+        LocatorStrategy value = BY_NAME.get(strategy.toLowerCase(Locale.ROOT));
+        if (value != null) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unknown locator strategy: " + strategy);
+    }
+}
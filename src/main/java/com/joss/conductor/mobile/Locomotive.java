@@ -1,7 +1,13 @@
 package com.joss.conductor.mobile;
 
 import com.google.common.base.Strings;
+import com.joss.conductor.mobile.util.CommandCounter;
+import com.joss.conductor.mobile.util.HierarchyIndex;
+import com.joss.conductor.mobile.util.HierarchyNode;
+import com.joss.conductor.mobile.util.MetricsCommandExecutor;
+import com.joss.conductor.mobile.util.PageSourceCache;
 import com.joss.conductor.mobile.util.PageUtil;
+import com.joss.conductor.mobile.util.PatternCache;
 import com.joss.conductor.mobile.util.PropertiesUtil;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
@@ -9,8 +15,7 @@ import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.IOSMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
-import io.appium.java_client.service.local.AppiumServiceBuilder;
-import io.appium.java_client.service.local.flags.GeneralServerFlag;
+import io.appium.java_client.remote.MobilePlatform;
 import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.Assertions;
 import org.assertj.swing.dependency.jsr305.Nullable;
@@ -21,7 +26,6 @@ import org.junit.rules.TestRule;
 import org.openqa.selenium.*;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -31,8 +35,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
 import java.util.NoSuchElementException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created on 8/10/16.
@@ -43,11 +48,24 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     private static final float SWIPE_DISTANCE = 0.25f;
     private static final float SWIPE_DISTANCE_LONG = 0.50f;
     private static final int SWIPE_DURATION_MILLIS = 2000;
-
+    private static final int SWIPE_DURATION_FROM_VELOCITY = 0;
     public LocomotiveConfig configuration;
     public AppiumDriver driver;
 
     private Map<String, String> vars = new HashMap<String, String>();
+    private DesiredCapabilities sessionCapabilities;
+    private URL localServerUrl;
+    private DeviceRegistry deviceRegistry;
+    private PollingStrategy pollingStrategy = new BackoffPollingStrategy();
+    private final CommandCounter commandCounter = new CommandCounter();
+    private final PageSourceCache pageSourceCache = new PageSourceCache();
+    private final PatternCache patternCache = new PatternCache();
+    private final Map<By, WebElement> elementCache = new HashMap<By, WebElement>();
+    private int staleElementCount;
+    private HierarchyIndex hierarchy;
+    private String hierarchySource;
+    private Dimension screenSize;
+    private boolean elementRectSupported = true;
 
     @Rule
     public TestRule watchman = this;
@@ -56,6 +74,25 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return this;
     }
 
+    /**
+     * @return The count of driver commands this test has sent so far
+     */
+    public CommandCounter getCommandCounter() {
+        return commandCounter;
+    }
+
+    public PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    /**
+     * Replace how element lookups are spaced out while waiting for elements.
+     */
+    public Locomotive setPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+        return this;
+    }
+
     public Locomotive() {
     }
 
@@ -76,7 +113,29 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
 
     @AfterMethod(alwaysRun = true)
     public void quit() {
-        driver.quit();
+        if (sessionCapabilities != null) {
+            // The pool keeps the server lease until the session is quit for good
+            SessionPool.getInstance().release(sessionCapabilities, driver, configuration.noReset(), localServerUrl);
+            sessionCapabilities = null;
+            localServerUrl = null;
+        } else if (driver != null) {
+            driver.quit();
+        }
+        if (localServerUrl != null) {
+            AppiumServerManager.getInstance().release(localServerUrl);
+            localServerUrl = null;
+        }
+        releaseDevice();
+    }
+
+    /**
+     * Give back the device this test leased, if any.
+     */
+    void releaseDevice() {
+        if (deviceRegistry != null) {
+            deviceRegistry.release();
+            deviceRegistry = null;
+        }
     }
 
     private void init(Properties properties, Config testConfig) {
@@ -85,40 +144,69 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
 
     private void init(LocomotiveConfig configuration, AppiumDriver driver) {
         this.configuration = configuration;
+        this.screenSize = null;
+        onScreenChanged();
         if (driver != null) {
             this.driver = driver;
         } else {
-            boolean isLocal = StringUtils.isEmpty(configuration.hub());
-            URL url = getUrl(isLocal);
-            DesiredCapabilities capabilities = onCapabilitiesCreated(getCapabilities(configuration));
-
-            AppiumServiceBuilder builder = new AppiumServiceBuilder()
-                    .withArgument(GeneralServerFlag.LOG_LEVEL, configuration.logLevel().equals("")
-                            ? "debug"
-                            : configuration.logLevel());
+            DesiredCapabilities capabilities = getCapabilities(configuration);
+            if (StringUtils.isNotEmpty(configuration.devices())) {
+                deviceRegistry = DeviceRegistry.forDevices(configuration.devices());
+                deviceRegistry.lease().applyTo(capabilities);
+            }
+            try {
+                capabilities = onCapabilitiesCreated(capabilities);
+                if (configuration.sessionReuse()) {
+                    AppiumDriver pooled = SessionPool.getInstance().lease(capabilities);
+                    this.driver = pooled != null ? pooled : createDriver(capabilities);
+                    this.sessionCapabilities = capabilities;
+                } else {
+                    this.driver = createDriver(capabilities);
+                }
+            } catch (RuntimeException e) {
+                // The test is skipped and quit() never runs, do not hold the device forever
+                releaseDevice();
+                throw e;
+            }
+        }
+        // Pooled sessions move between tests, count into whichever test holds the session now
+        if (this.driver.getCommandExecutor() instanceof MetricsCommandExecutor) {
+            ((MetricsCommandExecutor) this.driver.getCommandExecutor()).setCommandCounter(commandCounter);
+        }
+    }
 
-            switch (configuration.platformName()) {
-                case ANDROID:
-                    this.driver = isLocal
-                            ? new AndroidDriver(builder, capabilities)
-                            : new AndroidDriver(url, capabilities);
+    private AppiumDriver createDriver(DesiredCapabilities capabilities) {
+        boolean isLocal = StringUtils.isEmpty(configuration.hub());
+        URL url = getUrl(isLocal);
 
-                    break;
-                case IOS:
-                    this.driver = isLocal
-                            ? new IOSDriver(builder, capabilities)
-                            : new IOSDriver(url, capabilities);
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unknown platform: " + configuration.platformName());
-            }
+        // Copy so the pooled session key is not changed
+        DesiredCapabilities driverCapabilities = new DesiredCapabilities(capabilities);
+        switch (configuration.platformName()) {
+            case ANDROID:
+                driverCapabilities.setCapability(MobileCapabilityType.PLATFORM_NAME, MobilePlatform.ANDROID);
+                return new AndroidDriver(createExecutor(url), driverCapabilities);
+            case IOS:
+                driverCapabilities.setCapability(MobileCapabilityType.PLATFORM_NAME, MobilePlatform.IOS);
+                return new IOSDriver(createExecutor(url), driverCapabilities);
+            default:
+                throw new IllegalArgumentException("Unknown platform: " + configuration.platformName());
         }
     }
 
+    private MetricsCommandExecutor createExecutor(URL url) {
+        // Set before the driver exists so the new session command is counted too
+        MetricsCommandExecutor executor = new MetricsCommandExecutor(url);
+        executor.setCommandCounter(commandCounter);
+        return executor;
+    }
+
     @Nullable
     private URL getUrl(boolean isLocal) {
         URL url = null;
-        if (!isLocal) {
+        if (isLocal) {
+            url = AppiumServerManager.getInstance().acquire(configuration.logLevel(), configuration.localServers());
+            localServerUrl = url;
+        } else {
             try {
                 url = new URL(configuration.hub());
             } catch (MalformedURLException e) {
@@ -185,56 +273,169 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return waitForElement(PageUtil.buildBy(configuration, id));
     }
 
+    /**
+     * Wait until an element is displayed, at most {@link LocomotiveConfig#timeout()}. An element that is present
+     * but still not displayed when the timeout passes is returned anyway.
+     *
+     * @param by The element to wait for
+     * @return The first element found
+     */
     public WebElement waitForElement(By by) {
+        WebElement cached = getCachedElement(by);
+        if (cached != null) {
+            return cached;
+        }
+        List<WebElement> elements = pollForElements(by, /*displayed=*/true);
+        int size = elements.size();
+
+        if (size == 0) {
+            Assert.fail(String.format("Could not find %s after %d attempts",
+                    by.toString(),
+                    configuration.retries()));
+        }
+
+        if (size > 1) {
+            System.err.println("WARN: There are more than 1 " + by.toString() + " 's!");
+        }
+
+        return cacheElement(by, elements.get(0));
+    }
+
+    /**
+     * @return The element last found for the locator, or null if there is none or {@link
+     * LocomotiveConfig#elementCache()} is off
+     */
+    private WebElement getCachedElement(By by) {
+        return configuration.elementCache() ? elementCache.get(by) : null;
+    }
+
+    private WebElement cacheElement(By by, WebElement element) {
+        if (configuration.elementCache()) {
+            elementCache.put(by, element);
+        }
+        return element;
+    }
 
+    /**
+     * Something done with the element found for a locator.
+     */
+    interface ElementCall<T> {
+        T call(WebElement element);
+    }
+
+    /**
+     * Run a call on the element found for a locator. A cached element that went stale is dropped and the
+     * locator is looked up again, once.
+     */
+    private <T> T withElement(By by, ElementCall<T> call) {
+        boolean cached = getCachedElement(by) != null;
+        WebElement element = waitForElement(by);
         try {
-            waitForCondition(ExpectedConditions.not(ExpectedConditions.invisibilityOfElementLocated(by)));
-        } catch (Exception e) {
-            System.out.println("WaitForElement: Eat exception thrown waiting for condition");
+            return call.call(element);
+        } catch (StaleElementReferenceException e) {
+            if (!cached) {
+                throw e;
+            }
+            onStaleElement(by);
+            return call.call(waitForElement(by));
         }
+    }
 
-        int size = driver.findElements(by).size();
+    /**
+     * Forget the element found for a locator because it went stale, it is looked up again on next use.
+     */
+    void onStaleElement(By by) {
+        staleElementCount++;
+        elementCache.remove(by);
+    }
 
-        if (size == 0) {
-            int attempts = 1;
-            while (attempts <= configuration.retries()) {
-                try {
-                    Thread.sleep(1000); // sleep for 1 second.
-                } catch (Exception x) {
-                    Assert.fail("Failed due to an exception during Thread.sleep!");
-                    x.printStackTrace();
-                }
+    /**
+     * @return How many times an element went stale and was looked up again, by {@link #element(By)} proxies
+     * or the {@link LocomotiveConfig#elementCache()}
+     */
+    public int getStaleElementCount() {
+        return staleElementCount;
+    }
 
-                size = driver.findElements(by).size();
-                if (size > 0) {
-                    break;
+    public LazyElement element(String id) {
+        return element(PageUtil.buildBy(configuration, id));
+    }
+
+    /**
+     * Get an element for page objects that is looked up on first use rather than now, and looked up again once
+     * if it went stale, e.g. after the screen was rendered again.
+     */
+    public LazyElement element(By by) {
+        return new LazyElement(this, by);
+    }
+
+    /**
+     * Look up an element until it is found or the timeout passes, waiting between lookups as the
+     * {@link PollingStrategy} decides. At least {@link LocomotiveConfig#retries()} lookups are retried
+     * even if the timeout is shorter.
+     *
+     * @param by The element to look up
+     * @param displayed <code>true</code> to keep polling until the first element found is also displayed
+     * @return The elements found, empty if none were found in time
+     */
+    private List<WebElement> pollForElements(By by, boolean displayed) {
+        long start = System.currentTimeMillis();
+        long deadline = start + TimeUnit.SECONDS.toMillis(configuration.timeout());
+        int retries = configuration.retries();
+        int attempt = 0;
+
+        while (true) {
+            List<WebElement> elements = driver.findElements(by);
+            long now = System.currentTimeMillis();
+            if (!elements.isEmpty() && (!displayed || isDisplayed(elements.get(0)))) {
+                pollingStrategy.recordFound(by, now - start);
+                return elements;
+            }
+
+            if (!elements.isEmpty() && now >= deadline) {
+                // Present but not displayed in time, like the former visibility wait
+                return elements;
+            }
+
+            attempt++;
+            long delay = pollingStrategy.nextDelay(by, attempt);
+            if (attempt > retries) {
+                if (now >= deadline) {
+                    return elements;
                 }
-                attempts++;
+                delay = Math.min(delay, deadline - now);
             }
-            if (size == 0) {
-                Assert.fail(String.format("Could not find %s after %d attempts",
-                        by.toString(),
-                        configuration.retries()));
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+                Assertions.fail(x.getMessage(), x);
             }
         }
+    }
 
-        if (size > 1) {
-            System.err.println("WARN: There are more than 1 " + by.toString() + " 's!");
+    private boolean isDisplayed(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (StaleElementReferenceException e) {
+            return false;
         }
-
-        return driver.findElement(by);
     }
 
-
     public Locomotive click(String id) {
         return click(PageUtil.buildBy(configuration, id));
     }
 
     public Locomotive click(By by) {
-        return click(waitForElement(by));
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return click(element);
+            }
+        });
     }
 
     public Locomotive click(WebElement element) {
+        onScreenChanged();
         element.click();
         return this;
     }
@@ -243,11 +444,16 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return setText(PageUtil.buildBy(configuration, id), text);
     }
 
-    public Locomotive setText(By by, String text) {
-        return setText(waitForElement(by), text);
+    public Locomotive setText(By by, final String text) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return setText(element, text);
+            }
+        });
     }
 
     public Locomotive setText(WebElement element, String text) {
+        onScreenChanged();
         element.clear();
         element.sendKeys(text);
         return this;
@@ -258,7 +464,25 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public boolean isPresent(By by) {
-        return driver.findElements(by).size() > 0;
+        return countElements(by) > 0;
+    }
+
+    public int countElements(String id) {
+        return countElements(PageUtil.buildBy(configuration, id));
+    }
+
+    /**
+     * Count the elements matching a locator right now, without waiting.
+     *
+     * @param by The elements to count
+     * @return How many elements match
+     */
+    public int countElements(By by) {
+        List<HierarchyNode> nodes = findLocally(by);
+        if (nodes != null) {
+            return nodes.size();
+        }
+        return driver.findElements(by).size();
     }
 
     public boolean isPresentWait(String id) {
@@ -266,57 +490,20 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public boolean isPresentWait(By by) {
-
-        //Line Separator Variable for formatting output
-        String newLine = System.getProperty("line.separator");//This will retrieve line separator dependent on OS.
-        //Array of stacktrace elements to output
-        StackTraceElement[] stackTraceElements = Thread.currentThread().getStackTrace();
-
-        try {
-            waitForCondition(ExpectedConditions.not(ExpectedConditions.invisibilityOfElementLocated(by)));
-
-        } catch (Exception e) {
-            System.err.println(newLine + newLine + "----     WARNING: METHOD DID NOT FIND ELEMENT  ----" + newLine);
-
-            if (stackTraceElements != null) {
-
-                int traceSize = stackTraceElements.length >= 3 ? 3 : stackTraceElements.length;
-
-                try {
-
-                    for (int i = 0; i < traceSize; i++) {
-
-                        if (stackTraceElements[i] != null) {
-                            System.err.print(stackTraceElements[i] + newLine);
-                        }
-                    }
-
-                } catch (ArrayIndexOutOfBoundsException exception) {
-                    System.err.print(exception);
-                }
-            }
-
-
-            System.err.println(newLine + newLine + "----     WARNING: ELEMENT NOT PRESENT  ---- " + newLine + e.toString() + newLine + newLine);
-        }
-
-        int size = driver.findElements(by).size();
+        int size = pollForElements(by, /*displayed=*/true).size();
 
         if (size == 0) {
-            int attempts = 1;
-            while (attempts <= configuration.retries()) {
-                try {
-                    Thread.sleep(1000); // sleep for 1 second.
-                } catch (Exception x) {
-                    Assertions.fail(x.getMessage(), x);
-                }
+            //Line Separator Variable for formatting output
+            String newLine = System.getProperty("line.separator");//This will retrieve line separator dependent on OS.
+            //Array of stacktrace elements to output
+            StackTraceElement[] stackTraceElements = Thread.currentThread().getStackTrace();
 
-                size = driver.findElements(by).size();
-                if (size > 0) {
-                    break;
-                }
-                attempts++;
+            System.err.println(newLine + newLine + "----     WARNING: METHOD DID NOT FIND ELEMENT  ----" + newLine);
+            int traceSize = stackTraceElements.length >= 3 ? 3 : stackTraceElements.length;
+            for (int i = 0; i < traceSize; i++) {
+                System.err.print(stackTraceElements[i] + newLine);
             }
+            System.err.println(newLine + newLine + "----     WARNING: ELEMENT NOT PRESENT  ---- " + newLine + by.toString() + newLine + newLine);
         }
 
         if (size > 1) {
@@ -331,25 +518,122 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public String getText(By by) {
-        return getText(waitForElement(by));
+        return withElement(by, new ElementCall<String>() {
+            public String call(WebElement element) {
+                return getText(element);
+            }
+        });
     }
 
     public String getText(WebElement element) {
         return element.getText();
     }
 
+    /**
+     * Read from a page source node the text {@link #getText(WebElement)} would return.
+     *
+     * @return The text, or null if it has to be read from the server: XCUITest picks between the value and the
+     * label of an element in ways the page source does not show
+     */
+    String getText(HierarchyNode node) {
+        return configuration.platformName() == Platform.ANDROID ? node.getAttribute(HierarchyIndex.TEXT) : null;
+    }
+
     public String getAttribute(String id, String attribute) {
         return getAttribute(PageUtil.buildBy(configuration, id), attribute);
     }
 
-    public String getAttribute(By by, String attribute) {
-        return waitForElement(by).getAttribute(attribute);
+    public String getAttribute(By by, final String attribute) {
+        return withElement(by, new ElementCall<String>() {
+            public String call(WebElement element) {
+                return getAttribute(element, attribute);
+            }
+        });
     }
 
     public String getAttribute(WebElement element, String attribute) {
         return element.getAttribute(attribute);
     }
 
+    public List<String> getTexts(String id) {
+        return getTexts(PageUtil.buildBy(configuration, id));
+    }
+
+    /**
+     * Get the text of every element matching a locator. On Android texts are read from one page source when the
+     * locator can be evaluated there, otherwise the elements are found once and read one by one.
+     */
+    public List<String> getTexts(By by) {
+        ElementCall<String> read = new ElementCall<String>() {
+            public String call(WebElement element) {
+                return getText(element);
+            }
+        };
+        List<HierarchyNode> nodes = readsPageSource() ? findInPageSource(by) : null;
+        if (nodes != null && !nodes.isEmpty()) {
+            List<String> texts = new ArrayList<String>(nodes.size());
+            for (HierarchyNode node : nodes) {
+                String text = getText(node);
+                if (text == null) {
+                    return readAll(by, read);
+                }
+                texts.add(text);
+            }
+            return texts;
+        }
+        return readAll(by, read);
+    }
+
+    public List<String> getAttributes(String id, String attribute) {
+        return getAttributes(PageUtil.buildBy(configuration, id), attribute);
+    }
+
+    /**
+     * Get an attribute of every element matching a locator, like {@link #getTexts(By)}. The page source is only
+     * used if every element there has the attribute under the same name.
+     */
+    public List<String> getAttributes(By by, final String attribute) {
+        ElementCall<String> read = new ElementCall<String>() {
+            public String call(WebElement element) {
+                return getAttribute(element, attribute);
+            }
+        };
+        List<HierarchyNode> nodes = readsPageSource() ? findInPageSource(by) : null;
+        if (nodes != null && !nodes.isEmpty()) {
+            List<String> values = new ArrayList<String>(nodes.size());
+            for (HierarchyNode node : nodes) {
+                String value = node.getAttribute(attribute);
+                if (value == null) {
+                    return readAll(by, read);
+                }
+                values.add(value);
+            }
+            return values;
+        }
+        return readAll(by, read);
+    }
+
+    /**
+     * The iOS page source is the slowest command of XCUITest and does not hold what getText reads, iOS elements
+     * are always read one by one.
+     */
+    private boolean readsPageSource() {
+        return configuration.platformName() == Platform.ANDROID;
+    }
+
+    /**
+     * Find the elements of a locator once and read them one after another, the session runs one command at a
+     * time anyway.
+     */
+    private List<String> readAll(By by, ElementCall<String> read) {
+        List<WebElement> elements = getElements(by);
+        List<String> values = new ArrayList<String>(elements.size());
+        for (WebElement element : elements) {
+            values.add(read.call(element));
+        }
+        return values;
+    }
+
     public Locomotive swipeCenter(SwipeElementDirection direction) {
         return performSwipe(direction, /*element=*/null, /*by=*/null, SWIPE_DISTANCE);
     }
@@ -370,6 +654,15 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return performSwipe(direction, /*element=*/null, /*by=*/null, SWIPE_DISTANCE_LONG);
     }
 
+    /**
+     * @return How many pixels {@link #swipeCenterLong(SwipeElementDirection)} drags the screen content
+     */
+    int getSwipeCenterLongDistance(SwipeElementDirection direction) {
+        Point from = getCenter(/*element=*/null);
+        Point to = getSwipeEnd(direction, from, SWIPE_DISTANCE_LONG);
+        return Math.abs(to.getX() - from.getX()) + Math.abs(to.getY() - from.getY());
+    }
+
     public Locomotive swipeLong(SwipeElementDirection direction, String id) {
         return swipeLong(direction, PageUtil.buildBy(configuration, id));
     }
@@ -390,14 +683,32 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return performSwipe(direction, element, /*by=*/null, percentage);
     }
 
+    /**
+     * Swipe slowly for a fixed 2 seconds, for sliders and other controls that need a precise drag.
+     */
+    public Locomotive drag(SwipeElementDirection direction, By by, float percentage) {
+        return performSwipe(direction, /*element=*/null, by, percentage, SWIPE_DURATION_MILLIS);
+    }
+
+    public Locomotive drag(SwipeElementDirection direction, WebElement element, float percentage) {
+        return performSwipe(direction, element, /*by=*/null, percentage, SWIPE_DURATION_MILLIS);
+    }
+
+    /**
+     * Swipe from the center of the screen as fast as {@link LocomotiveConfig#swipeMinMillis()} allows, lists
+     * keep scrolling after the finger is lifted.
+     */
+    public Locomotive fling(SwipeElementDirection direction) {
+        return performSwipe(direction, /*element=*/null, /*by=*/null, SWIPE_DISTANCE_LONG,
+                Math.max(configuration.swipeMinMillis(), 1));
+    }
+
     public void swipeDown() {
         swipeCenterLong(SwipeElementDirection.UP);
     }
 
     public void swipeDown(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.UP);
-        }
+        swipeCenterLong(SwipeElementDirection.UP, times);
     }
 
     public void swipeUp() {
@@ -405,9 +716,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public void swipeUp(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.DOWN);
-        }
+        swipeCenterLong(SwipeElementDirection.DOWN, times);
     }
 
     public void swipeRight() {
@@ -415,9 +724,7 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public void swipeRight(int times) {
-        for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.LEFT);
-        }
+        swipeCenterLong(SwipeElementDirection.LEFT, times);
     }
 
     public void swipeLeft() {
@@ -425,12 +732,24 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public void swipeLeft(int times) {
+        swipeCenterLong(SwipeElementDirection.RIGHT, times);
+    }
+
+    private void swipeCenterLong(SwipeElementDirection direction, int times) {
         for (int i = 0; i < times; i++) {
-            swipeCenterLong(SwipeElementDirection.RIGHT);
+            swipeCenterLong(direction);
         }
     }
 
+    /**
+     * Start composing pauses and multi finger movements, such as pinch and zoom.
+     */
+    public Gesture gesture() {
+        return new Gesture(this);
+    }
+
     public Locomotive hideKeyboard() {
+        onScreenChanged();
         try {
             driver.hideKeyboard();
         } catch (WebDriverException e) {
@@ -440,6 +759,11 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     private Locomotive performSwipe(SwipeElementDirection direction, WebElement element, By by, float percentage) {
+        return performSwipe(direction, element, by, percentage, SWIPE_DURATION_FROM_VELOCITY);
+    }
+
+    private Locomotive performSwipe(SwipeElementDirection direction, WebElement element, By by, float percentage,
+                                    int durationMillis) {
         Point from;
         if (element != null) {
             from = getCenter(element);
@@ -448,8 +772,31 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         } else {
             from = getCenter(/*element=*/null);
         }
+        Point to = getSwipeEnd(direction, from, percentage);
+        if (durationMillis == SWIPE_DURATION_FROM_VELOCITY) {
+            durationMillis = getSwipeDuration(from, to);
+        }
+        onScreenChanged();
+        driver.swipe(from.getX(), from.getY(), to.getX(), to.getY(), durationMillis);
+        return this;
+    }
+
+    /**
+     * Get how long a swipe takes at {@link LocomotiveConfig#swipeVelocity()}, bounded by the configured minimum
+     * and maximum. Without a velocity every swipe takes 2 seconds.
+     */
+    int getSwipeDuration(Point from, Point to) {
+        int velocity = configuration.swipeVelocity();
+        if (velocity <= 0) {
+            return SWIPE_DURATION_MILLIS;
+        }
+        double distance = Math.hypot(to.getX() - from.getX(), to.getY() - from.getY());
+        int duration = (int) Math.round(distance * 1000 / velocity);
+        return Math.max(configuration.swipeMinMillis(), Math.min(duration, configuration.swipeMaxMillis()));
+    }
 
-        Dimension screen = driver.manage().window().getSize();
+    private Point getSwipeEnd(SwipeElementDirection direction, Point from, float percentage) {
+        Dimension screen = getScreenSize();
         Point to = null;
         if (direction != null) {
             switch (direction) {
@@ -479,28 +826,76 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         } else {
             throw new IllegalArgumentException("Swipe Direction not specified");
         }
-        driver.swipe(from.getX(), from.getY(), to.getX(), to.getY(), SWIPE_DURATION_MILLIS);
-        return this;
+        return to;
     }
 
     public WebElement swipeTo(SwipeElementDirection s, By by, int attempts){
-        int i;
-
-        if (isPresentWait(by)){
-            return driver.findElement(by);
-        } else {
-            for (i = 0; i < attempts; i++) {
+        return swipeTo(s, by, attempts, TimeUnit.SECONDS.toMillis(configuration.timeout()));
+    }
 
-                swipeCenter(s);
-                if (isPresentWait(by)) {
-                    return driver.findElement(by);
+    /**
+     * Swipe until an element shows up. Presence is checked once after every swipe without waiting, the search
+     * stops when the element is found, after <code>attempts</code> swipes, when a swipe no longer changes the
+     * screen because the end of the list was reached, or when <code>timeoutMillis</code> have passed.
+     *
+     * The page source is only downloaded after swipes that did not reveal the element, to tell whether the
+     * screen still moves.
+     *
+     * @return The element, null if it was not found
+     */
+    public WebElement swipeTo(SwipeElementDirection s, By by, int attempts, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        String source = null;
+        WebElement element = findNow(by);
+        for (int i = 0; element == null && i < attempts && System.currentTimeMillis() < deadline; i++) {
+            swipeCenter(s);
+            element = findNow(by);
+            if (element == null) {
+                String swiped = getPageSource();
+                if (swiped != null && swiped.equals(source)) {
+                    // Nothing moved, the end of the list was reached
+                    break;
                 }
-
+                source = swiped;
             }
+        }
+        if (element == null) {
+            System.err.println("WARN: Element" + by.toString() + "does not exist!");
+        }
+        return element;
+    }
 
+    /**
+     * Iterate over every item of a scrolling list, the list is swiped only once the items on screen were
+     * consumed and ends when a swipe shows no new items. Items are read from the page source, so the locator
+     * must be one {@link HierarchyIndex#canEvaluate(By)} accepts.
+     *
+     * @param item Locator matching each item of the list
+     * @param direction The swipe that reveals the next items, UP scrolls a list down
+     */
+    public Iterator<HierarchyNode> iterateItems(By item, SwipeElementDirection direction) {
+        return new ScrollingIterator(this, item, direction);
+    }
+
+    public Stream<HierarchyNode> streamItems(By item, SwipeElementDirection direction) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterateItems(item, direction),
+                Spliterator.ORDERED | Spliterator.NONNULL), /*parallel=*/false);
+    }
+
+    public Stream<HierarchyNode> streamItems(By item) {
+        return streamItems(item, SwipeElementDirection.UP);
+    }
+
+    /**
+     * Look an element up once without waiting, skips the server when the local hierarchy shows it is absent.
+     */
+    private WebElement findNow(By by) {
+        List<HierarchyNode> nodes = findLocally(by);
+        if (nodes != null && nodes.isEmpty()) {
+            return null;
         }
-        System.err.println("WARN: Element" + by.toString() + "does not exist!");
-        return null;
+        List<WebElement> elements = driver.findElements(by);
+        return elements.isEmpty() ? null : elements.get(0);
     }
 
     public WebElement swipeTo(By by){
@@ -529,22 +924,65 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     public Point getCenter(WebElement element) {
         int x, y;
         if (element == null) {
-            x = driver.manage().window().getSize().getWidth() / 2;
-            y = driver.manage().window().getSize().getHeight() / 2;
+            Dimension screen = getScreenSize();
+            x = screen.getWidth() / 2;
+            y = screen.getHeight() / 2;
         } else {
-            x = element.getLocation().getX() + (element.getSize().getWidth() / 2);
-            y = element.getLocation().getY() + (element.getSize().getHeight() / 2);
+            Rectangle rect = getRect(element);
+            x = rect.getX() + (rect.getWidth() / 2);
+            y = rect.getY() + (rect.getHeight() / 2);
         }
         return new Point(x, y);
     }
 
+    /**
+     * Get the screen size, only asked from the server once per session and after {@link #rotate(ScreenOrientation)}.
+     *
+     * @return The size of the screen in the current orientation
+     */
+    public Dimension getScreenSize() {
+        if (screenSize == null) {
+            screenSize = driver.manage().window().getSize();
+        }
+        return screenSize;
+    }
+
+    public Locomotive rotate(ScreenOrientation orientation) {
+        onScreenChanged();
+        screenSize = null;
+        driver.rotate(orientation);
+        return this;
+    }
+
+    /**
+     * Get location and size of an element in one command, servers without the rect endpoint are asked for
+     * location and size separately.
+     */
+    private Rectangle getRect(WebElement element) {
+        if (elementRectSupported) {
+            try {
+                return element.getRect();
+            } catch (UnsupportedCommandException e) {
+                elementRectSupported = false;
+            }
+        }
+        Point location = element.getLocation();
+        Dimension size = element.getSize();
+        return new Rectangle(location, size);
+    }
+
     public List<WebElement> getElements(String id) {
         return getElements(PageUtil.buildBy(configuration, id));
     }
 
     public List<WebElement> getElements(By by) {
-        waitForElement(by);
-        return driver.findElements(by);
+        List<WebElement> elements = pollForElements(by, /*displayed=*/false);
+        if (elements.isEmpty()) {
+            Assert.fail(String.format("Could not find %s after %d attempts",
+                    by.toString(),
+                    configuration.retries()));
+        }
+        return elements;
     }
 
     /**
@@ -555,8 +993,18 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public Locomotive validatePresent(By by) {
-        waitForElement(by);
-        Assert.assertTrue("Element " + by.toString() + " does not exist!", isPresent(by));
+        if (getCachedElement(by) != null) {
+            return this;
+        }
+        List<HierarchyNode> nodes = findLocally(by);
+        if (nodes != null && !nodes.isEmpty()) {
+            return this;
+        }
+        List<WebElement> elements = pollForElements(by, /*displayed=*/false);
+        if (elements.isEmpty()) {
+            Assert.fail("Element " + by.toString() + " does not exist!");
+        }
+        cacheElement(by, elements.get(0));
         return this;
     }
 
@@ -565,7 +1013,9 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
     }
 
     public Locomotive validateNotPresent(By by) {
-        Assert.assertFalse("Element " + by.toString() + " exists!", isPresent(by));
+        if (isPresent(by)) {
+            Assert.fail("Element " + by.toString() + " exists!");
+        }
         return this;
     }
 
@@ -577,25 +1027,35 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return validateTextIgnoreCase(PageUtil.buildBy(configuration, id), text);
     }
 
-    public Locomotive validateTextIgnoreCase(By by, String text) {
-        return validateTextIgnoreCase(waitForElement(by), text);
+    public Locomotive validateTextIgnoreCase(By by, final String text) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return validateTextIgnoreCase(element, text);
+            }
+        });
     }
 
     public Locomotive validateTextIgnoreCase(WebElement element, String text) {
         String actual = getText(element);
-        Assert.assertTrue(String.format("Text does not match! [expected: %s] [actual: %s]", text, actual),
-                text.equalsIgnoreCase(actual));
+        if (!text.equalsIgnoreCase(actual)) {
+            Assert.fail(String.format("Text does not match! [expected: %s] [actual: %s]", text, actual));
+        }
         return this;
     }
 
-    public Locomotive validateText(By by, String text) {
-        return validateText(waitForElement(by), text);
+    public Locomotive validateText(By by, final String text) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return validateText(element, text);
+            }
+        });
     }
 
     public Locomotive validateText(WebElement element, String text) {
         String actual = getText(element);
-        Assert.assertTrue(String.format("Text does not match! [expected: %s] [actual: %s]", text, actual),
-                text.equals(actual));
+        if (!text.equals(actual)) {
+            Assert.fail(String.format("Text does not match! [expected: %s] [actual: %s]", text, actual));
+        }
         return this;
     }
 
@@ -607,44 +1067,169 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         return validateTextNotIgnoreCase(PageUtil.buildBy(configuration, id), text);
     }
 
-    public Locomotive validateTextNotIgnoreCase(By by, String text) {
-        return validateTextNotIgnoreCase(waitForElement(by), text);
+    public Locomotive validateTextNotIgnoreCase(By by, final String text) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return validateTextNotIgnoreCase(element, text);
+            }
+        });
     }
 
     public Locomotive validateTextNotIgnoreCase(WebElement element, String text) {
         String actual = getText(element);
-        Assert.assertFalse(String.format("Text matches! [expected: %s] [actual: %s]", text, actual),
-                text.equalsIgnoreCase(actual));
+        if (text.equalsIgnoreCase(actual)) {
+            Assert.fail(String.format("Text matches! [expected: %s] [actual: %s]", text, actual));
+        }
         return this;
     }
 
-    public Locomotive validateTextNot(By by, String text) {
-        return validateTextNot(waitForElement(by), text);
+    public Locomotive validateTextNot(By by, final String text) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return validateTextNot(element, text);
+            }
+        });
     }
 
     public Locomotive validateTextNot(WebElement element, String text) {
         String actual = getText(element);
-        Assert.assertFalse(String.format("Text matches! [expected: %s] [actual: %s]", text, actual),
-                text.equals(actual));
+        if (text.equals(actual)) {
+            Assert.fail(String.format("Text matches! [expected: %s] [actual: %s]", text, actual));
+        }
         return this;
     }
 
+    /**
+     * Check that the screen shows a text. A cached page source is used when there is one, otherwise the device
+     * is asked for an element containing the text and the page source is only downloaded if none was found.
+     */
     public Locomotive validateTextPresent(String text) {
-        Assert.assertTrue(driver.getPageSource().contains(text));
+        String source = pageSourceCache.get(configuration.pageSourceCacheMillis());
+        if (source == null && Boolean.TRUE.equals(searchText(text))) {
+            return this;
+        }
+        Assert.assertTrue((source != null ? source : getPageSource()).contains(text));
         return this;
     }
 
     public Locomotive validateTextNotPresent(String text) {
-        Assert.assertFalse(driver.getPageSource().contains(text));
+        Assert.assertFalse(getPageSource().contains(text));
         return this;
     }
 
+    /**
+     * Ask the device whether an element contains a text, see {@link PageUtil#buildTextContains}.
+     *
+     * @return Whether an element was found, or null if the device could not be asked
+     */
+    private Boolean searchText(String text) {
+        By by = PageUtil.buildTextContains(configuration.platformName(), text);
+        if (by == null) {
+            return null;
+        }
+        try {
+            return !driver.findElements(by).isEmpty();
+        } catch (WebDriverException e) {
+            System.err.println("WARN: Could not search for text on the device: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the page source, reusing the last snapshot if no action changed the screen since and it is not
+     * older than {@link LocomotiveConfig#pageSourceCacheMillis()}.
+     *
+     * @return The page source of the current screen
+     */
+    public String getPageSource() {
+        String source = pageSourceCache.get(configuration.pageSourceCacheMillis());
+        if (source == null) {
+            source = driver.getPageSource();
+            pageSourceCache.put(source);
+        }
+        return source;
+    }
+
+    /**
+     * Get the current page source parsed into a {@link HierarchyIndex}, parsing each snapshot only once.
+     *
+     * @return The parsed hierarchy, or null if the page source is not well formed
+     */
+    public HierarchyIndex getHierarchy() {
+        String source = getPageSource();
+        if (source != hierarchySource) {
+            hierarchySource = source;
+            try {
+                hierarchy = HierarchyIndex.parse(source);
+            } catch (IllegalArgumentException e) {
+                System.err.println("WARN: " + e.getMessage());
+                hierarchy = null;
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Evaluate a locator against the page source when {@link LocomotiveConfig#localHierarchy()} is on and page
+     * sources are reused, without reuse every lookup would download the whole page source to find one element.
+     *
+     * @return The matching nodes, or null if the locator has to be evaluated by the server
+     */
+    private List<HierarchyNode> findLocally(By by) {
+        if (!configuration.localHierarchy() || configuration.pageSourceCacheMillis() <= 0) {
+            return null;
+        }
+        return findInPageSource(by);
+    }
+
+    /**
+     * Evaluate a locator against the page source, for reads of many elements one page source beats a command
+     * per element.
+     *
+     * @return The matching nodes, or null if the locator has to be evaluated by the server
+     */
+    private List<HierarchyNode> findInPageSource(By by) {
+        if (!HierarchyIndex.canEvaluate(by)) {
+            return null;
+        }
+        HierarchyIndex index = getHierarchy();
+        return index == null ? null : findInHierarchy(index, by);
+    }
+
+    /**
+     * Evaluate a locator against a hierarchy the way the server would, bare Android ids belong to the app.
+     */
+    List<HierarchyNode> findInHierarchy(HierarchyIndex index, By by) {
+        return index.find(by, configuration.platformName() == Platform.ANDROID ? configuration.appPackageName() : null);
+    }
+
+    /**
+     * Forget everything cached about the current screen, called before any action that may change it.
+     */
+    protected void onScreenChanged() {
+        elementCache.clear();
+        invalidatePageSource();
+    }
+
+    /**
+     * Forget the page source and its hierarchy only, the elements found on the screen are still valid.
+     */
+    void invalidatePageSource() {
+        pageSourceCache.invalidate();
+        hierarchy = null;
+        hierarchySource = null;
+    }
+
     public Locomotive validateAttribute(String id, String attr, String regex) {
         return validateAttribute(PageUtil.buildBy(configuration, id), attr, regex);
     }
 
-    public Locomotive validateAttribute(By by, String attr, String regex) {
-        return validateAttribute(waitForElement(by), attr, regex);
+    public Locomotive validateAttribute(By by, final String attr, final String regex) {
+        return withElement(by, new ElementCall<Locomotive>() {
+            public Locomotive call(WebElement element) {
+                return validateAttribute(element, attr, regex);
+            }
+        });
     }
 
     public Locomotive validateAttribute(WebElement element, String attr, String regex) {
@@ -652,27 +1237,38 @@ public class Locomotive extends Watchman implements Conductor<Locomotive> {
         try {
             actual = element.getAttribute(attr);
             if (actual.equals(regex)) return this; // test passes.
+        } catch (StaleElementReferenceException e) {
+            throw e;
         } catch (NoSuchElementException e) {
             Assert.fail("No such element [" + element.toString() + "] exists.");
         } catch (Exception x) {
             Assert.fail("Cannot validate an attribute if an element doesn't have it!");
         }
 
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(actual);
-
-        Assert.assertTrue(
-                String.format("Attribute doesn't match! [Selector: %s] [Attribute: %s] [Desired value: %s] [Actual value: %s]",
-                        element.toString(),
-                        attr,
-                        regex,
-                        actual
-                ),
-                m.find());
+        if (!patternCache.find(regex, actual)) {
+            Assert.fail(String.format(
+                    "Attribute doesn't match! [Selector: %s] [Attribute: %s] [Desired value: %s] [Actual value: %s]",
+                    element.toString(),
+                    attr,
+                    regex,
+                    actual));
+        }
 
         return this;
     }
 
+    /**
+     * Start collecting expectations that are checked together against one page source, every mismatch is
+     * reported at once.
+     */
+    public Validation validateAll() {
+        return new Validation(this);
+    }
+
+    PatternCache getPatternCache() {
+        return patternCache;
+    }
+
     public Locomotive validateTrue(boolean condition) {
         Assert.assertTrue(condition);
         return this;
@@ -4,6 +4,9 @@ import com.joss.conductor.mobile.util.JvmUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -15,255 +18,357 @@ import java.util.Properties;
  *   <li>Test</li>
  *   <li>Default properties</li>
  * </ol>
+ *
+ * Every value is resolved once when the config is created, the accessors only return the resolved value.
+ * {@link #getSource(String)} tells which layer a value came from.
  */
 public class LocomotiveConfig implements Config {
 
     public static int DEFAULT_MAX_RETRIES = 5;
     public static int DEFAULT_MAX_TIMEOUT = 5;
-
-    private Config testConfig;
-    private Properties properties;
+    public static int DEFAULT_LOCAL_SERVERS = 1;
+    public static int DEFAULT_PAGE_SOURCE_CACHE_MILLIS = 0;
+    public static int DEFAULT_SWIPE_VELOCITY = 2000;
+    public static int DEFAULT_SWIPE_MIN_MILLIS = 150;
+    public static int DEFAULT_SWIPE_MAX_MILLIS = 2000;
+
+    private final Map<String, String> values;
+    private final Map<String, ConfigSource> sources;
+
+    private final String appPackageName;
+    private final Platform platformName;
+    private final String platformVersion;
+    private final String deviceName;
+    private final String apk;
+    private final String ipa;
+    private final String udid;
+    private final String appiumVersion;
+    private final String language;
+    private final String locale;
+    private final String orientation;
+    private final boolean autoWebView;
+    private final boolean noReset;
+    private final String xcodeSigningId;
+    private final String xcodeOrgId;
+    private final String avd;
+    private final String appActivity;
+    private final String appWaitActivity;
+    private final String locatorStrategy;
+    private final boolean fullReset;
+    private final boolean autoAcceptAlerts;
+    private final String hub;
+    private final int timeout;
+    private final int retries;
+    private final boolean screenshotsOnFail;
+    private final boolean autoGrantPermissions;
+    private final String automationName;
+    private final String logLevel;
+    private final boolean sessionReuse;
+    private final int localServers;
+    private final String devices;
+    private final int pageSourceCacheMillis;
+    private final boolean localHierarchy;
+    private final int swipeVelocity;
+    private final int swipeMinMillis;
+    private final int swipeMaxMillis;
+    private final boolean elementCache;
 
     public LocomotiveConfig(Config testConfig, Properties properties) {
-        this.testConfig = testConfig;
-        this.properties = properties;
+        this(testConfig, new LayeredResolver(properties));
+    }
+
+    private LocomotiveConfig(Config testConfig, Resolver resolver) {
+        boolean hasTest = testConfig != null;
+        appPackageName = resolver.resolve(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME,
+                hasTest ? testConfig.appPackageName() : null,
+                Constants.JVM_CONDUCTOR_APP_PACKAGE_NAME, "");
+        String platform = resolver.resolve(Constants.DEFAULT_PROPERTY_PLATFORM_NAME,
+                hasTest && testConfig.platformName() != null && testConfig.platformName() != Platform.NONE
+                        ? testConfig.platformName().name()
+                        : null,
+                Constants.JVM_CONDUCTOR_PLATFORM_NAME, "");
+        platformName = platform.isEmpty() ? Platform.NONE : Platform.valueOf(platform);
+        platformVersion = resolver.resolve(Constants.DEFAULT_PROPERTY_PLATFORM_VERSION,
+                hasTest ? testConfig.platformVersion() : null,
+                Constants.JVM_CONDUCTOR_PLATFORM_VERSION, "");
+        deviceName = resolver.resolve(Constants.DEFAULT_PROPERTY_DEVICE_NAME,
+                hasTest ? testConfig.deviceName() : null,
+                Constants.JVM_CONDUCTOR_DEVICE_NAME, "");
+        apk = resolver.resolve(Constants.DEFAULT_PROPERTY_APK,
+                hasTest ? testConfig.apk() : null,
+                Constants.JVM_CONDUCTOR_APK, "");
+        ipa = resolver.resolve(Constants.DEFAULT_PROPERTY_IPA,
+                hasTest ? testConfig.ipa() : null,
+                Constants.JVM_CONDUCTOR_IPA, "");
+        udid = resolver.resolve(Constants.DEFAULT_PROPERTY_UDID,
+                hasTest ? testConfig.udid() : null,
+                Constants.JVM_CONDUCTOR_UDID, "");
+        appiumVersion = resolver.resolve(Constants.DEFAULT_PROPERTY_APPIUM_VERSION,
+                hasTest ? testConfig.appiumVersion() : null,
+                Constants.JVM_CONDUCTOR_APPIUM_VERSION, "");
+        language = resolver.resolve(Constants.DEFAULT_PROPERTY_LANGUAGE,
+                hasTest ? testConfig.language() : null,
+                Constants.JVM_CONDUCTOR_LANGUAGE, "");
+        locale = resolver.resolve(Constants.DEFAULT_PROPERTY_LOCALE,
+                hasTest ? testConfig.locale() : null,
+                Constants.JVM_CONDUCTOR_LOCALE, "");
+        orientation = resolver.resolve(Constants.DEFAULT_PROPERTY_ORIENTATION,
+                hasTest ? testConfig.orientation() : null,
+                Constants.JVM_CONDUCTOR_ORIENTATION, "");
+        autoWebView = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_AUTO_WEBVIEW,
+                null, Constants.JVM_CONDUCTOR_AUTO_WEBVIEW, Boolean.FALSE.toString()));
+        noReset = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_NO_RESET,
+                null, Constants.JVM_CONDUCTOR_NO_RESET, Boolean.FALSE.toString()));
+        xcodeSigningId = resolver.resolve(Constants.DEFAULT_PROPERTY_SIGN_ID,
+                hasTest ? testConfig.xcodeSigningId() : null,
+                Constants.JVM_CONDUCTOR_SIGN_ID, "");
+        xcodeOrgId = resolver.resolve(Constants.DEFAULT_PROPERTY_TEAM_ID,
+                hasTest ? testConfig.xcodeOrgId() : null,
+                Constants.JVM_CONDUCTOR_TEAM_ID, "");
+        avd = resolver.resolve(Constants.DEFAULT_PROPERTY_AVD,
+                hasTest ? testConfig.avd() : null,
+                Constants.JVM_CONDUCTOR_AVD, "");
+        appActivity = resolver.resolve(Constants.DEFAULT_PROPERTY_APP_ACTIVITY,
+                hasTest ? testConfig.appActivity() : null,
+                Constants.JVM_CONDUCTOR_APP_ACTIVITY, "");
+        appWaitActivity = resolver.resolve(Constants.DEFAULT_PROPERTY_APP_WAITACTIVITY,
+                hasTest ? testConfig.appWaitActivity() : null,
+                Constants.JVM_CONDUCTOR_APP_WAITACTIVITY, "");
+        locatorStrategy = resolver.resolve(Constants.DEFAULT_PROPERTY_LOCATOR_STRATEGY,
+                hasTest ? testConfig.locatorStrategy() : null,
+                Constants.JVM_CONDUCTOR_LOCATOR_STRATEGY, "");
+        fullReset = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_FULL_RESET,
+                null, Constants.JVM_CONDUCTOR_FULL_RESET, Boolean.FALSE.toString()));
+        autoAcceptAlerts = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_AUTO_ACCEPT_ALERTS,
+                null, Constants.JVM_CONDUCTOR_AUTO_ACCEPT_ALERTS, Boolean.FALSE.toString()));
+        hub = resolver.resolve(Constants.DEFAULT_PROPERTY_HUB,
+                hasTest ? testConfig.hub() : null,
+                Constants.JVM_CONDUCTOR_HUB, "");
+        timeout = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_TIMEOUT,
+                hasTest ? String.valueOf(testConfig.timeout()) : null,
+                Constants.JVM_CONDUCTOR_TIMEOUT, String.valueOf(DEFAULT_MAX_TIMEOUT)));
+        retries = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_RETRIES,
+                hasTest ? String.valueOf(testConfig.retries()) : null,
+                Constants.JVM_CONDUCTOR_RETRIES, String.valueOf(DEFAULT_MAX_RETRIES)));
+        screenshotsOnFail = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_SCREENSHOTS_ON_FAIL,
+                null, Constants.JVM_CONDUCTOR_SCREENSHOTS_ON_FAIL, Boolean.FALSE.toString()));
+        autoGrantPermissions = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_AUTO_GRANT_PERMISSIONS,
+                null, Constants.JVM_CONDUCTOR_AUTO_GRANT_PERMISSIONS, Boolean.FALSE.toString()));
+        automationName = resolver.resolve(Constants.DEFAULT_PROPERTY_AUTOMATION_NAME,
+                hasTest ? testConfig.automationName() : null,
+                Constants.JVM_CONDUCTOR_AUTOMATION_NAME, "");
+        logLevel = resolver.resolve(Constants.DEFAULT_PROPERTY_LOG_LEVEL,
+                hasTest ? testConfig.logLevel() : null,
+                Constants.JVM_CONDUCTOR_LOG_LEVEL, "");
+        sessionReuse = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_SESSION_REUSE,
+                null, Constants.JVM_CONDUCTOR_SESSION_REUSE, Boolean.FALSE.toString()));
+        localServers = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_LOCAL_SERVERS,
+                null, Constants.JVM_CONDUCTOR_LOCAL_SERVERS, String.valueOf(DEFAULT_LOCAL_SERVERS)));
+        devices = resolver.resolve(Constants.DEFAULT_PROPERTY_DEVICES,
+                null, Constants.JVM_CONDUCTOR_DEVICES, "");
+        pageSourceCacheMillis = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_PAGE_SOURCE_CACHE_MILLIS,
+                null, Constants.JVM_CONDUCTOR_PAGE_SOURCE_CACHE_MILLIS, String.valueOf(DEFAULT_PAGE_SOURCE_CACHE_MILLIS)));
+        localHierarchy = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_LOCAL_HIERARCHY,
+                null, Constants.JVM_CONDUCTOR_LOCAL_HIERARCHY, Boolean.FALSE.toString()));
+        swipeVelocity = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_SWIPE_VELOCITY,
+                null, Constants.JVM_CONDUCTOR_SWIPE_VELOCITY, String.valueOf(DEFAULT_SWIPE_VELOCITY)));
+        swipeMinMillis = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_SWIPE_MIN_MILLIS,
+                null, Constants.JVM_CONDUCTOR_SWIPE_MIN_MILLIS, String.valueOf(DEFAULT_SWIPE_MIN_MILLIS)));
+        swipeMaxMillis = Integer.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_SWIPE_MAX_MILLIS,
+                null, Constants.JVM_CONDUCTOR_SWIPE_MAX_MILLIS, String.valueOf(DEFAULT_SWIPE_MAX_MILLIS)));
+        elementCache = Boolean.valueOf(resolver.resolve(Constants.DEFAULT_PROPERTY_ELEMENT_CACHE,
+                null, Constants.JVM_CONDUCTOR_ELEMENT_CACHE, Boolean.FALSE.toString()));
+
+        values = Collections.unmodifiableMap(resolver.values());
+        sources = Collections.unmodifiableMap(resolver.sources());
+    }
+
+    /**
+     * Create a copy of this config with some values replaced, without resolving the other values again.
+     *
+     * @param overrides New values keyed by default.properties key, i.e. {@link Constants#DEFAULT_PROPERTY_TIMEOUT}
+     * @return The new config
+     */
+    public LocomotiveConfig withOverrides(Map<String, String> overrides) {
+        return new LocomotiveConfig(null, new OverrideResolver(values, sources, overrides));
+    }
+
+    /**
+     * @param propertyKey The default.properties key of the value, i.e. {@link Constants#DEFAULT_PROPERTY_TIMEOUT}
+     * @return The layer the value came from, or null if the key is unknown
+     */
+    public ConfigSource getSource(String propertyKey) {
+        return sources.get(propertyKey);
+    }
+
+    /**
+     * @return The layer of every value, keyed by default.properties key
+     */
+    public Map<String, ConfigSource> getSources() {
+        return sources;
     }
 
     public String appPackageName() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME,
-                testConfig == null ? null : testConfig.appPackageName(),
-                Constants.JVM_CONDUCTOR_APP_PACKAGE_NAME);
+        return appPackageName;
     }
 
     public Platform platformName() {
-        return getPlatformValue(Constants.DEFAULT_PROPERTY_PLATFORM_NAME,
-                testConfig == null ? null : testConfig.platformName(),
-                Constants.JVM_CONDUCTOR_PLATFORM_NAME);
+        return platformName;
     }
 
     public String platformVersion() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_PLATFORM_VERSION,
-                testConfig == null ? null : testConfig.platformVersion(),
-                Constants.JVM_CONDUCTOR_PLATFORM_VERSION);
+        return platformVersion;
     }
 
     public String deviceName() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_DEVICE_NAME,
-                testConfig == null ? null : testConfig.deviceName(),
-                Constants.JVM_CONDUCTOR_DEVICE_NAME);
+        return deviceName;
     }
 
     public String apk() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_APK,
-                testConfig == null ? null : testConfig.apk(),
-                Constants.JVM_CONDUCTOR_APK);
+        return apk;
     }
 
     public String ipa() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_IPA,
-                testConfig == null ? null : testConfig.ipa(),
-                Constants.JVM_CONDUCTOR_IPA);
+        return ipa;
     }
 
     public String udid() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_UDID,
-                testConfig == null ? null : testConfig.udid(),
-                Constants.JVM_CONDUCTOR_UDID);
+        return udid;
     }
 
     public String appiumVersion() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_APPIUM_VERSION,
-                testConfig == null ? null : testConfig.appiumVersion(),
-                Constants.JVM_CONDUCTOR_APPIUM_VERSION);
+        return appiumVersion;
     }
 
     public String language() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_LANGUAGE,
-                testConfig == null ? null : testConfig.language(),
-                Constants.JVM_CONDUCTOR_LANGUAGE);
+        return language;
     }
 
     public String locale() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_LOCALE,
-                testConfig == null ? null : testConfig.locale(),
-                Constants.JVM_CONDUCTOR_LOCALE);
+        return locale;
     }
 
     public String orientation() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_ORIENTATION,
-                testConfig == null ? null : testConfig.orientation(),
-                Constants.JVM_CONDUCTOR_ORIENTATION);
+        return orientation;
     }
 
     public boolean autoWebView() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_AUTO_WEBVIEW,
-                Constants.JVM_CONDUCTOR_AUTO_WEBVIEW);
+        return autoWebView;
     }
 
     public boolean noReset() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_NO_RESET,
-                Constants.JVM_CONDUCTOR_NO_RESET);
+        return noReset;
     }
 
 
     public String xcodeSigningId() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_SIGN_ID,
-                testConfig == null ? null : testConfig.xcodeSigningId(),
-                Constants.JVM_CONDUCTOR_SIGN_ID);
+        return xcodeSigningId;
     }
 
 
     public String xcodeOrgId() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_TEAM_ID,
-                testConfig == null ? null : testConfig.xcodeOrgId(),
-                Constants.JVM_CONDUCTOR_TEAM_ID);
+        return xcodeOrgId;
     }
 
     public String avd() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_AVD,
-                testConfig == null ? null : testConfig.avd(),
-                Constants.JVM_CONDUCTOR_AVD);
+        return avd;
     }
 
     public String appActivity() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_APP_ACTIVITY,
-                testConfig == null ? null : testConfig.appActivity(),
-                Constants.JVM_CONDUCTOR_APP_ACTIVITY);
+        return appActivity;
     }
 
     public String appWaitActivity() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_APP_WAITACTIVITY,
-                testConfig == null ? null : testConfig.appWaitActivity(),
-                Constants.JVM_CONDUCTOR_APP_WAITACTIVITY);
+        return appWaitActivity;
+    }
+
+    public String locatorStrategy() {
+        return locatorStrategy;
     }
 
     public boolean fullReset() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_FULL_RESET,
-                Constants.JVM_CONDUCTOR_FULL_RESET);
+        return fullReset;
     }
 
     public boolean autoAcceptAlerts() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_AUTO_ACCEPT_ALERTS,
-                Constants.JVM_CONDUCTOR_AUTO_ACCEPT_ALERTS);
+        return autoAcceptAlerts;
     }
 
     public String hub() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_HUB,
-                testConfig == null ? null : testConfig.hub(),
-                Constants.JVM_CONDUCTOR_HUB);
+        return hub;
     }
 
     public int timeout() {
-        return getIntValue(Constants.DEFAULT_PROPERTY_TIMEOUT,
-                testConfig == null ? null : testConfig.timeout(),
-                Constants.JVM_CONDUCTOR_TIMEOUT,
-                DEFAULT_MAX_TIMEOUT);
+        return timeout;
     }
 
     public int retries() {
-        return getIntValue(Constants.DEFAULT_PROPERTY_RETRIES,
-                testConfig == null ? null : testConfig.retries(),
-                Constants.JVM_CONDUCTOR_RETRIES,
-                DEFAULT_MAX_RETRIES);
+        return retries;
     }
 
     public boolean screenshotsOnFail() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_SCREENSHOTS_ON_FAIL,
-                Constants.JVM_CONDUCTOR_SCREENSHOTS_ON_FAIL);
+        return screenshotsOnFail;
     }
 
     public boolean autoGrantPermissions() {
-        return getBooleanValue(Constants.DEFAULT_PROPERTY_AUTO_GRANT_PERMISSIONS,
-                Constants.JVM_CONDUCTOR_AUTO_GRANT_PERMISSIONS);
+        return autoGrantPermissions;
     }
 
     public String automationName() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_AUTOMATION_NAME,
-                testConfig == null ? null : testConfig.automationName(),
-                Constants.JVM_CONDUCTOR_AUTOMATION_NAME);
+        return automationName;
     }
 
     public String logLevel() {
-        return getStringValue(Constants.DEFAULT_PROPERTY_LOG_LEVEL,
-                testConfig == null ? null : testConfig.logLevel(),
-                Constants.JVM_CONDUCTOR_LOG_LEVEL);
+        return logLevel;
     }
 
-    public Class<? extends Annotation> annotationType() {
-        return null;
+    public boolean sessionReuse() {
+        return sessionReuse;
     }
 
-    private String getStringValue(String defaultPropertyKey, String testConfigValue, String jvmParamKey) {
-        String value = "";
-        String defaultValue = getProperty(defaultPropertyKey);
-        String jvmValue = JvmUtil.getJvmProperty(jvmParamKey);
-
-        if(defaultValue != null && !StringUtils.isEmpty(defaultValue)) {
-            value = defaultValue;
-        }
-        if(testConfigValue != null && !StringUtils.isEmpty(testConfigValue)) {
-            value = testConfigValue;
-        }
-        if(jvmValue != null && !StringUtils.isEmpty(jvmValue)) {
-            value = jvmValue;
-        }
-        return value;
+    public int localServers() {
+        return localServers;
     }
 
-    private Platform getPlatformValue(String defaultPropertyKey, Platform testConfigValue, String jvmParamKey) {
-        Platform value = Platform.NONE;
-        String defaultValue = getProperty(defaultPropertyKey);
-        String jvmValue = JvmUtil.getJvmProperty(jvmParamKey);
+    public String devices() {
+        return devices;
+    }
 
-        if(defaultValue != null && !StringUtils.isEmpty(defaultValue)) {
-            value = Platform.valueOf(defaultValue);
-        }
-        if(testConfigValue != null && testConfigValue != Platform.NONE) {
-            value = testConfigValue;
-        }
-        if(jvmValue != null && !StringUtils.isEmpty(jvmValue)) {
-            value = Platform.valueOf(jvmValue);
-        }
-        return value;
+    public int pageSourceCacheMillis() {
+        return pageSourceCacheMillis;
     }
 
-    private boolean getBooleanValue(String defaultPropertyKey, String jvmParamKey) {
-        boolean value = false;
-        String defaultValue = getProperty(defaultPropertyKey, Boolean.FALSE.toString());
-        String jvmValue = JvmUtil.getJvmProperty(jvmParamKey);
+    public boolean localHierarchy() {
+        return localHierarchy;
+    }
 
-        if(defaultValue != null && !StringUtils.isEmpty(defaultValue)) {
-            value = Boolean.valueOf(defaultValue);
-        }
-        if(jvmValue != null && !StringUtils.isEmpty(jvmValue)) {
-            value = Boolean.valueOf(jvmValue);
-        }
-        return value;
+    /**
+     * @return Swipe speed in pixels per second, 0 to swipe with a fixed duration
+     */
+    public int swipeVelocity() {
+        return swipeVelocity;
     }
 
-    private int getIntValue(String defaultPropertyKey, Integer testConfigValue, String jvmParamKey, int defaultValue) {
-        int value = defaultValue;
-        String defaultPropValue = getProperty(defaultPropertyKey, String.valueOf(defaultValue));
-        String jvmValue = JvmUtil.getJvmProperty(jvmParamKey);
+    /**
+     * @return Duration of the shortest swipe, also used for flings
+     */
+    public int swipeMinMillis() {
+        return swipeMinMillis;
+    }
 
-        if(defaultPropValue != null && !StringUtils.isEmpty(defaultPropValue)) {
-            value = Integer.valueOf(defaultPropValue);
-        }
-        if(testConfigValue != null) {
-            value = testConfigValue;
-        }
-        if(jvmValue != null && !StringUtils.isEmpty(jvmValue)) {
-            value = Integer.valueOf(jvmValue);
-        }
-        return value;
+    public int swipeMaxMillis() {
+        return swipeMaxMillis;
     }
 
-    private String getProperty(String key) {
-        return getProperty(key, "");
+    /**
+     * @return <code>true</code> to reuse found elements until an action changes the screen
+     */
+    public boolean elementCache() {
+        return elementCache;
     }
 
-    private String getProperty(String key, String defaultValue) {
-        return properties == null ? "" : properties.getProperty(key, defaultValue);
+    public Class<? extends Annotation> annotationType() {
+        return null;
     }
 
     public String getAppFullPath() {
@@ -280,4 +385,91 @@ public class LocomotiveConfig implements Config {
         }
         return System.getProperty("user.dir") + app;
     }
+
+    private interface Resolver {
+        /**
+         * @return The raw value of a setting, <code>defaultValue</code> if no layer sets it
+         */
+        String resolve(String defaultPropertyKey, String testConfigValue, String jvmParamKey, String defaultValue);
+
+        Map<String, String> values();
+
+        Map<String, ConfigSource> sources();
+    }
+
+    /**
+     * Resolves values from the JVM arguments, the test annotation and default.properties.
+     */
+    private static class LayeredResolver implements Resolver {
+        private final Properties properties;
+        private final Map<String, String> values = new HashMap<String, String>();
+        private final Map<String, ConfigSource> sources = new HashMap<String, ConfigSource>();
+
+        LayeredResolver(Properties properties) {
+            this.properties = properties;
+        }
+
+        public String resolve(String defaultPropertyKey, String testConfigValue, String jvmParamKey, String defaultValue) {
+            String value = defaultValue;
+            ConfigSource source = ConfigSource.DEFAULT;
+            String propertyValue = properties == null ? null : properties.getProperty(defaultPropertyKey);
+            String jvmValue = JvmUtil.getJvmProperty(jvmParamKey);
+
+            if (StringUtils.isNotEmpty(propertyValue)) {
+                value = propertyValue;
+                source = ConfigSource.PROPERTIES;
+            }
+            if (StringUtils.isNotEmpty(testConfigValue)) {
+                value = testConfigValue;
+                source = ConfigSource.TEST;
+            }
+            if (StringUtils.isNotEmpty(jvmValue)) {
+                value = jvmValue;
+                source = ConfigSource.JVM;
+            }
+            values.put(defaultPropertyKey, value);
+            sources.put(defaultPropertyKey, source);
+            return value;
+        }
+
+        public Map<String, String> values() {
+            return values;
+        }
+
+        public Map<String, ConfigSource> sources() {
+            return sources;
+        }
+    }
+
+    /**
+     * Resolves values from an already resolved config with some of them replaced.
+     */
+    private static class OverrideResolver implements Resolver {
+        private final Map<String, String> values;
+        private final Map<String, ConfigSource> sources;
+        private final Map<String, String> overrides;
+
+        OverrideResolver(Map<String, String> values, Map<String, ConfigSource> sources, Map<String, String> overrides) {
+            this.values = new HashMap<String, String>(values);
+            this.sources = new HashMap<String, ConfigSource>(sources);
+            this.overrides = overrides;
+        }
+
+        public String resolve(String defaultPropertyKey, String testConfigValue, String jvmParamKey, String defaultValue) {
+            if (overrides.containsKey(defaultPropertyKey)) {
+                String value = overrides.get(defaultPropertyKey);
+                values.put(defaultPropertyKey, value == null ? defaultValue : value);
+                sources.put(defaultPropertyKey, ConfigSource.OVERRIDE);
+            }
+            return values.containsKey(defaultPropertyKey) ? values.get(defaultPropertyKey) : defaultValue;
+        }
+
+        public Map<String, String> values() {
+            return values;
+        }
+
+        public Map<String, ConfigSource> sources() {
+            return sources;
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.joss.conductor.mobile;
+
+import org.openqa.selenium.By;
+
+/**
+ * Decides how long {@link Locomotive} waits between element lookups while polling for an element.
+ */
+public interface PollingStrategy {
+
+    /**
+     * How long to wait before the next lookup.
+     * @param by The locator being polled
+     * @param attempt How many lookups have missed so far, starting at 1
+     * @return The delay in milliseconds
+     */
+    long nextDelay(By by, int attempt);
+
+    /**
+     * Called when a locator was found, so the strategy can adapt to how long elements take to appear.
+     * @param by The locator that was found
+     * @param elapsedMillis How long after the first lookup the element was found
+     */
+    void recordFound(By by, long elapsedMillis);
+}
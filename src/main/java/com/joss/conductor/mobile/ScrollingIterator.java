@@ -0,0 +1,209 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.HierarchyIndex;
+import com.joss.conductor.mobile.util.HierarchyNode;
+import org.openqa.selenium.By;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Walks the items of a scrolling list one page at a time, see {@link Locomotive#iterateItems(By, SwipeElementDirection)}.
+ *
+ * Items are read from the page source, the list is only swiped once every item of the current page was
+ * consumed. Items still visible after a swipe are recognized by their content and their position in the list:
+ * the items the previous page ended with are the ones the next page starts with, so items showing the same
+ * content are still told apart. The first and last of those items may be cut off by the edge of the list and
+ * show less content on one of the pages. When several overlaps fit, e.g. in a run of identical rows, the one
+ * matching how far the swipe moved the items is used. Only the keys of the previous page are kept so memory
+ * does not grow with the length of the list, and the list ends once a swipe shows no new item.
+ */
+class ScrollingIterator implements Iterator<HierarchyNode> {
+
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)\\]");
+
+    private final Locomotive locomotive;
+    private final By item;
+    private final SwipeElementDirection direction;
+    private final Deque<HierarchyNode> page = new ArrayDeque<HierarchyNode>();
+    private List<List<String>> previousKeys = Collections.emptyList();
+    private List<Integer> previousPositions = Collections.emptyList();
+    private int swipeDistance;
+    private boolean started;
+    private boolean finished;
+
+    ScrollingIterator(Locomotive locomotive, By item, SwipeElementDirection direction) {
+        if (!HierarchyIndex.canEvaluate(item)) {
+            throw new IllegalArgumentException("Items must be located by id, accessibility id, class name or "
+                    + "a simple XPath to be read from the page source: " + item);
+        }
+        this.locomotive = locomotive;
+        this.item = item;
+        this.direction = direction;
+    }
+
+    public boolean hasNext() {
+        while (page.isEmpty() && !finished) {
+            if (started) {
+                swipeDistance = locomotive.getSwipeCenterLongDistance(direction);
+                locomotive.swipeCenterLong(direction);
+            }
+            started = true;
+            readPage();
+        }
+        return !page.isEmpty();
+    }
+
+    public HierarchyNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.poll();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private void readPage() {
+        HierarchyIndex index = locomotive.getHierarchy();
+        if (index == null) {
+            finished = true;
+            return;
+        }
+        List<HierarchyNode> nodes = locomotive.findInHierarchy(index, item);
+        List<List<String>> keys = new ArrayList<List<String>>(nodes.size());
+        List<Integer> positions = new ArrayList<Integer>(nodes.size());
+        for (HierarchyNode node : nodes) {
+            keys.add(getKey(index, node));
+            positions.add(getPosition(node));
+        }
+        if (keys.equals(previousKeys) && positions.equals(previousPositions)) {
+            // Nothing moved, even a run of identical rows would have shifted
+            finished = true;
+            return;
+        }
+        if (revealsLaterItems()) {
+            // The next items come in below or right of the ones seen last
+            page.addAll(nodes.subList(overlap(previousKeys, previousPositions, keys, positions), nodes.size()));
+        } else {
+            page.addAll(nodes.subList(0, nodes.size() - overlap(keys, positions, previousKeys, previousPositions)));
+        }
+        // A swipe that shows nothing new reached the end of the list
+        finished = page.isEmpty();
+        previousKeys = keys;
+        previousPositions = positions;
+    }
+
+    private boolean revealsLaterItems() {
+        return direction == SwipeElementDirection.UP || direction == SwipeElementDirection.LEFT;
+    }
+
+    /**
+     * Find how many items the page higher up or further left ends with that the other page starts with. Of the
+     * overlaps whose items show the same content, the one moving the items furthest within the swipe distance is
+     * preferred, the longest one is used when positions do not tell.
+     *
+     * @return How many items of <code>before</code> are shown again at the start of <code>after</code>
+     */
+    private int overlap(List<List<String>> before, List<Integer> beforePositions,
+                        List<List<String>> after, List<Integer> afterPositions) {
+        int longest = 0;
+        int swiped = 0;
+        for (int length = Math.min(before.size(), after.size()); length > 0; length--) {
+            if (!matches(before.subList(before.size() - length, before.size()), after.subList(0, length))) {
+                continue;
+            }
+            if (longest == 0) {
+                longest = length;
+            }
+            // How far the items moved if this overlap is the right one, shorter overlaps moved them further
+            Integer from = beforePositions.get(before.size() - length);
+            Integer to = afterPositions.get(0);
+            if (from != null && to != null && from - to >= 0 && from - to <= swipeDistance) {
+                swiped = length;
+            }
+        }
+        return swiped > 0 ? swiped : longest;
+    }
+
+    /**
+     * The first and last item may be cut off by the edge of the list, they match when one shows part of what the
+     * other shows.
+     */
+    private static boolean matches(List<List<String>> before, List<List<String>> after) {
+        int last = before.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            boolean edge = i == 0 || i == last;
+            if (!(edge ? isPartOf(before.get(i), after.get(i)) : before.get(i).equals(after.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPartOf(List<String> first, List<String> second) {
+        if (first.size() > second.size()) {
+            return isPartOf(second, first);
+        }
+        // The item itself is always shown, only descendants are cut off
+        if (!first.get(0).equals(second.get(0))) {
+            return false;
+        }
+        int next = 1;
+        for (int i = 1; i < second.size() && next < first.size(); i++) {
+            if (second.get(i).equals(first.get(next))) {
+                next++;
+            }
+        }
+        return next == first.size();
+    }
+
+    /**
+     * @return The top of the item for vertical swipes, its left for horizontal ones, or null if it has no bounds
+     */
+    private Integer getPosition(HierarchyNode node) {
+        boolean vertical = direction == SwipeElementDirection.UP || direction == SwipeElementDirection.DOWN;
+        String bounds = node.getAttribute("bounds");
+        if (bounds != null) {
+            // Android: [left,top][right,bottom]
+            Matcher matcher = BOUNDS.matcher(bounds);
+            return matcher.find() ? Integer.valueOf(matcher.group(vertical ? 2 : 1)) : null;
+        }
+        String position = node.getAttribute(vertical ? "y" : "x");
+        try {
+            return position != null ? Integer.valueOf(position) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Identify an item by what it shows rather than where it is on screen, its bounds change with every swipe.
+     * The first line is the item itself, the others its descendants.
+     */
+    private static List<String> getKey(HierarchyIndex index, HierarchyNode node) {
+        List<HierarchyNode> descendants = index.getDescendants(node);
+        List<String> key = new ArrayList<String>(descendants.size() + 1);
+        key.add(getContent(node));
+        for (HierarchyNode descendant : descendants) {
+            key.add(getContent(descendant));
+        }
+        return key;
+    }
+
+    private static String getContent(HierarchyNode node) {
+        return node.getTag()
+                + '|' + node.getText()
+                + '|' + node.getAttribute(HierarchyIndex.RESOURCE_ID)
+                + '|' + node.getAttribute(HierarchyIndex.CONTENT_DESC)
+                + '|' + node.getAttribute(HierarchyIndex.NAME);
+    }
+}
@@ -0,0 +1,181 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps live Appium sessions around between test methods so that the (very slow) session creation
+ * is only paid once per capability set.
+ *
+ * Sessions are keyed by the capabilities they were created with. A released session has its app state
+ * reset before it is handed out again, and any session that fails the reset or the health check on lease
+ * is considered poisoned, quit and evicted.
+ *
+ * A session running on a local Appium server keeps its lease of the server until the session is quit, so the
+ * server is not stopped or handed out as idle under a live session.
+ */
+public class SessionPool {
+
+    private static final SessionPool INSTANCE = new SessionPool();
+
+    private final Map<Map<String, ?>, Deque<AppiumDriver<?>>> idle = new HashMap<Map<String, ?>, Deque<AppiumDriver<?>>>();
+    private final Map<AppiumDriver<?>, URL> serverUrls = new IdentityHashMap<AppiumDriver<?>, URL>();
+    private final AppiumServerManager serverManager;
+
+    SessionPool() {
+        this(AppiumServerManager.getInstance());
+    }
+
+    SessionPool(AppiumServerManager serverManager) {
+        this.serverManager = serverManager;
+    }
+
+    public static SessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lease an idle session created with the same capabilities.
+     *
+     * @param capabilities The capabilities the session must have been created with
+     * @return A live session, or null if none is available and a new one has to be created
+     */
+    public AppiumDriver<?> lease(Capabilities capabilities) {
+        Map<String, ?> key = keyOf(capabilities);
+        while (true) {
+            AppiumDriver<?> driver;
+            synchronized (this) {
+                Deque<AppiumDriver<?>> sessions = idle.get(key);
+                driver = sessions == null ? null : sessions.pollFirst();
+            }
+            if (driver == null) {
+                return null;
+            }
+            if (isHealthy(driver)) {
+                return driver;
+            }
+            evict(driver);
+        }
+    }
+
+    /**
+     * Return a session to the pool after resetting the app under test.
+     *
+     * @param capabilities The capabilities the session was created with
+     * @param driver The session to return
+     * @param relaunch <code>true</code> to terminate and relaunch the app keeping its data,
+     *                 <code>false</code> to reset the app and clear its data
+     */
+    public void release(Capabilities capabilities, AppiumDriver<?> driver, boolean relaunch) {
+        release(capabilities, driver, relaunch, /*serverUrl=*/null);
+    }
+
+    /**
+     * Return a session to the pool, taking over the lease of the local server it runs on.
+     *
+     * @param serverUrl The URL from {@link AppiumServerManager#acquire(String, int)}, null for a remote hub
+     */
+    public void release(Capabilities capabilities, AppiumDriver<?> driver, boolean relaunch, URL serverUrl) {
+        if (driver == null) {
+            return;
+        }
+        if (serverUrl != null) {
+            synchronized (this) {
+                serverUrls.put(driver, serverUrl);
+            }
+        }
+        try {
+            if (relaunch) {
+                driver.closeApp();
+                driver.launchApp();
+            } else {
+                driver.resetApp();
+            }
+        } catch (WebDriverException e) {
+            System.err.println("WARN: Evicting session that could not be reset: " + e.getMessage());
+            evict(driver);
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, ?> key = keyOf(capabilities);
+            Deque<AppiumDriver<?>> sessions = idle.get(key);
+            if (sessions == null) {
+                sessions = new ArrayDeque<AppiumDriver<?>>();
+                idle.put(key, sessions);
+            }
+            sessions.addFirst(driver);
+        }
+        ShutdownHook.register();
+    }
+
+    /**
+     * Quit a session and make sure it is never handed out again.
+     *
+     * @param driver The poisoned session
+     */
+    public void evict(AppiumDriver<?> driver) {
+        URL serverUrl;
+        synchronized (this) {
+            for (Deque<AppiumDriver<?>> sessions : idle.values()) {
+                sessions.remove(driver);
+            }
+            serverUrl = serverUrls.remove(driver);
+        }
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            System.err.println("WARN: Session did not quit cleanly: " + e.getMessage());
+        } finally {
+            if (serverUrl != null) {
+                serverManager.release(serverUrl);
+            }
+        }
+    }
+
+    /**
+     * Quit every idle session.
+     */
+    public void shutdown() {
+        List<AppiumDriver<?>> sessions = new ArrayList<AppiumDriver<?>>();
+        synchronized (this) {
+            for (Deque<AppiumDriver<?>> deque : idle.values()) {
+                sessions.addAll(deque);
+            }
+            idle.clear();
+        }
+        for (AppiumDriver<?> driver : sessions) {
+            evict(driver);
+        }
+    }
+
+    public synchronized int idleCount() {
+        int count = 0;
+        for (Deque<AppiumDriver<?>> sessions : idle.values()) {
+            count += sessions.size();
+        }
+        return count;
+    }
+
+    private boolean isHealthy(AppiumDriver<?> driver) {
+        try {
+            return driver.getSessionId() != null && driver.getSessionDetails() != null;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, ?> keyOf(Capabilities capabilities) {
+        return new HashMap<String, Object>(capabilities.asMap());
+    }
+}
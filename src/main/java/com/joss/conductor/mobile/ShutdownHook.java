@@ -0,0 +1,26 @@
+package com.joss.conductor.mobile;
+
+/**
+ * The one JVM shutdown hook of conductor. Pooled sessions are quit before the local Appium servers they run on
+ * are stopped, two separate hooks would run concurrently.
+ */
+final class ShutdownHook {
+
+    private static boolean registered;
+
+    private ShutdownHook() {
+    }
+
+    static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            public void run() {
+                SessionPool.getInstance().shutdown();
+                AppiumServerManager.getInstance().shutdown();
+            }
+        }, "conductor-shutdown"));
+    }
+}
@@ -1,14 +1,20 @@
 package com.joss.conductor.mobile;
 
+import com.joss.conductor.mobile.util.CommandMetrics;
 import com.joss.conductor.mobile.util.ScreenShotUtil;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
 
 /**
  * Created on 3/21/17.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
+
+    private static final long SCREENSHOT_WAIT_MILLIS = 30000;
 
     public void onTestStart(ITestResult result) {
 
@@ -28,7 +34,10 @@ public class TestListener implements ITestListener {
     }
 
     public void onTestSkipped(ITestResult result) {
-
+        // A failed init() skips the test, make sure the device it may have leased is not held forever
+        if (result.getInstance() instanceof Locomotive) {
+            ((Locomotive) result.getInstance()).releaseDevice();
+        }
     }
 
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
@@ -36,10 +45,43 @@ public class TestListener implements ITestListener {
     }
 
     public void onStart(ITestContext context) {
+        checkParallelMode(context.getCurrentXmlTest().getParallel(), context.getCurrentXmlTest().getThreadCount());
+    }
 
+    /**
+     * A {@link Locomotive} keeps its driver on the test instance, running its methods on several threads at once
+     * would share one session between them.
+     *
+     * @throws IllegalStateException If the suite runs methods in parallel
+     */
+    static void checkParallelMode(XmlSuite.ParallelMode mode, int threadCount) {
+        if (XmlSuite.ParallelMode.skipDeprecatedValues(mode) == XmlSuite.ParallelMode.METHODS && threadCount > 1) {
+            throw new IllegalStateException("parallel=\"methods\" is not supported, tests of one class share a "
+                    + "driver. Use parallel=\"classes\" or parallel=\"instances\" instead.");
+        }
     }
 
     public void onFinish(ITestContext context) {
 
     }
+
+    public void onStart(ISuite suite) {
+
+    }
+
+    /**
+     * Runs once after every {@code <test>} of the suite, screenshots taken by any of them are waited for here.
+     */
+    public void onFinish(ISuite suite) {
+        if (!ScreenShotUtil.awaitPending(SCREENSHOT_WAIT_MILLIS)) {
+            System.out.println("Screenshots still being written: " + ScreenShotUtil.getQueueDepth());
+        }
+        if (ScreenShotUtil.getDroppedCount() > 0) {
+            System.out.println("Screenshots dropped, writer queue was full: " + ScreenShotUtil.getDroppedCount());
+        }
+        if (!CommandMetrics.getInstance().isEmpty()) {
+            System.out.println("Driver command latencies:");
+            System.out.print(CommandMetrics.getInstance());
+        }
+    }
 }
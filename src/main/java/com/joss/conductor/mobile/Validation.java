@@ -0,0 +1,229 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.HierarchyIndex;
+import com.joss.conductor.mobile.util.HierarchyNode;
+import com.joss.conductor.mobile.util.PageUtil;
+import org.junit.Assert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects expectations about a screen and checks them all at once, see {@link Locomotive#validateAll()}.
+ *
+ * Every attempt reads one page source and checks each expectation against it, only locators the page source
+ * cannot answer are looked up on the server. Attempts are repeated like {@link Locomotive#waitForElement(By)}
+ * until everything matches, then every expectation still failing is reported in one assertion.
+ */
+public class Validation {
+
+    private final Locomotive locomotive;
+    private final List<Expectation> expectations = new ArrayList<Expectation>();
+
+    Validation(Locomotive locomotive) {
+        this.locomotive = locomotive;
+    }
+
+    public Validation text(String id, String text) {
+        return text(PageUtil.buildBy(locomotive.configuration, id), text);
+    }
+
+    public Validation text(final By by, final String text) {
+        expectations.add(new Expectation(by) {
+            boolean canCheck(HierarchyNode node) {
+                return locomotive.getText(node) != null;
+            }
+
+            String check(HierarchyNode node) {
+                return checkText(locomotive.getText(node));
+            }
+
+            String check(WebElement element) {
+                return checkText(locomotive.getText(element));
+            }
+
+            private String checkText(String actual) {
+                if (text.equals(actual)) {
+                    return null;
+                }
+                return String.format("Text does not match! [Selector: %s] [expected: %s] [actual: %s]",
+                        by, text, actual);
+            }
+        });
+        return this;
+    }
+
+    public Validation attribute(String id, String attr, String regex) {
+        return attribute(PageUtil.buildBy(locomotive.configuration, id), attr, regex);
+    }
+
+    public Validation attribute(final By by, final String attr, final String regex) {
+        expectations.add(new Expectation(by) {
+            boolean canCheck(HierarchyNode node) {
+                // Attribute names of the page source do not always match the ones of the server
+                return node.getAttribute(attr) != null;
+            }
+
+            String check(HierarchyNode node) {
+                return checkAttribute(node.getAttribute(attr));
+            }
+
+            String check(WebElement element) {
+                return checkAttribute(locomotive.getAttribute(element, attr));
+            }
+
+            private String checkAttribute(String actual) {
+                if (actual != null && (actual.equals(regex) || locomotive.getPatternCache().find(regex, actual))) {
+                    return null;
+                }
+                return String.format(
+                        "Attribute doesn't match! [Selector: %s] [Attribute: %s] [Desired value: %s] [Actual value: %s]",
+                        by, attr, regex, actual);
+            }
+        });
+        return this;
+    }
+
+    public Validation present(String id) {
+        return present(PageUtil.buildBy(locomotive.configuration, id));
+    }
+
+    public Validation present(By by) {
+        expectations.add(new Expectation(by) {
+            String check(HierarchyNode node) {
+                return null;
+            }
+
+            String check(WebElement element) {
+                return null;
+            }
+        });
+        return this;
+    }
+
+    public Validation notPresent(String id) {
+        return notPresent(PageUtil.buildBy(locomotive.configuration, id));
+    }
+
+    public Validation notPresent(final By by) {
+        expectations.add(new Expectation(by) {
+            String missing() {
+                return null;
+            }
+
+            String check(HierarchyNode node) {
+                return "Element " + by + " exists!";
+            }
+
+            String check(WebElement element) {
+                return "Element " + by + " exists!";
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Check every expectation until all of them match or the timeout passes.
+     *
+     * @return The locomotive, for fluency
+     */
+    public Locomotive validate() {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(locomotive.configuration.timeout());
+        int retries = locomotive.configuration.retries();
+        int attempt = 0;
+
+        while (true) {
+            List<String> mismatches = new ArrayList<String>();
+            By firstMismatch = null;
+            HierarchyIndex index = locomotive.getHierarchy();
+            for (Expectation expectation : expectations) {
+                String mismatch = expectation.check(index);
+                if (mismatch != null) {
+                    mismatches.add(mismatch);
+                    if (firstMismatch == null) {
+                        firstMismatch = expectation.by;
+                    }
+                }
+            }
+            if (mismatches.isEmpty()) {
+                return locomotive;
+            }
+
+            attempt++;
+            long now = System.currentTimeMillis();
+            long delay = locomotive.getPollingStrategy().nextDelay(firstMismatch, attempt);
+            if (attempt > retries) {
+                if (now >= deadline) {
+                    Assert.fail(mismatches.size() + " of " + expectations.size() + " validations failed:\n"
+                            + join(mismatches));
+                }
+                delay = Math.min(delay, deadline - now);
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+                Assert.fail(x.getMessage());
+            }
+            // The next attempt needs a new snapshot, the elements found so far are still on screen
+            locomotive.invalidatePageSource();
+        }
+    }
+
+    private static String join(List<String> lines) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append("- ").append(line).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * One expectation about the first element matching a locator.
+     */
+    private abstract class Expectation {
+        private final By by;
+
+        Expectation(By by) {
+            this.by = by;
+        }
+
+        /**
+         * @return The mismatch when no element matches, null if that is expected
+         */
+        String missing() {
+            return String.format("Could not find %s", by);
+        }
+
+        /**
+         * @return <code>false</code> if the page source lacks what this expectation needs from the node
+         */
+        boolean canCheck(HierarchyNode node) {
+            return true;
+        }
+
+        abstract String check(HierarchyNode node);
+
+        abstract String check(WebElement element);
+
+        /**
+         * @return A description of the mismatch, or null if the expectation is met
+         */
+        String check(HierarchyIndex index) {
+            if (index != null && HierarchyIndex.canEvaluate(by)) {
+                List<HierarchyNode> nodes = locomotive.findInHierarchy(index, by);
+                if (nodes.isEmpty()) {
+                    return missing();
+                }
+                if (canCheck(nodes.get(0))) {
+                    return check(nodes.get(0));
+                }
+            }
+            List<?> elements = locomotive.driver.findElements(by);
+            return elements.isEmpty() ? missing() : check((WebElement) elements.get(0));
+        }
+    }
+}
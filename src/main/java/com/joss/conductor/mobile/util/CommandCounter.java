@@ -0,0 +1,68 @@
+package com.joss.conductor.mobile.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the driver commands a {@link com.joss.conductor.mobile.Locomotive} sends to the server, keyed by
+ * command name: Selenium's {@link org.openqa.selenium.remote.DriverCommand} and Appium's
+ * {@link io.appium.java_client.MobileCommand} names.
+ *
+ * Commands are counted by the {@link MetricsCommandExecutor} of the session as they are sent, whatever sends
+ * them, so drivers created without one, i.e. mocks, count nothing.
+ */
+public class CommandCounter {
+
+    public static final String HIDE_KEYBOARD = "hideKeyboard";
+    public static final String PERFORM_TOUCH_ACTION = "performTouchAction";
+    public static final String PERFORM_MULTI_TOUCH = "performMultiTouch";
+
+    private final ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<String, AtomicInteger>();
+
+    public void increment(String command) {
+        AtomicInteger count = counts.get(command);
+        if (count == null) {
+            AtomicInteger created = new AtomicInteger();
+            count = counts.putIfAbsent(command, created);
+            if (count == null) {
+                count = created;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    public int count(String command) {
+        AtomicInteger count = counts.get(command);
+        return count == null ? 0 : count.get();
+    }
+
+    public int total() {
+        int total = 0;
+        for (AtomicInteger count : counts.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+
+    /**
+     * @return The count of every command issued so far, sorted by command name
+     */
+    public Map<String, Integer> snapshot() {
+        Map<String, Integer> snapshot = new TreeMap<String, Integer>();
+        for (Map.Entry<String, AtomicInteger> count : counts.entrySet()) {
+            snapshot.put(count.getKey(), count.getValue().get());
+        }
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
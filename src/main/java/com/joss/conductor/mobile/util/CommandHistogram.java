@@ -0,0 +1,91 @@
+package com.joss.conductor.mobile.util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Latency histogram of one driver command with power of two microsecond buckets.
+ *
+ * Recording only bumps striped counters, so it can be called from parallel test threads without contention.
+ * Percentiles are estimated from the bucket bounds and are accurate to a factor of two.
+ */
+public class CommandHistogram implements CommandHistogramMBean {
+
+    private static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(new LongBinaryOperator() {
+        public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+        }
+    }, 0);
+
+    public CommandHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(nanos / 1000, 1);
+        int bucket = Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    public double getP50Millis() {
+        return getPercentileMillis(0.50);
+    }
+
+    public double getP90Millis() {
+        return getPercentileMillis(0.90);
+    }
+
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    /**
+     * @param percentile Between 0 and 1
+     * @return Upper bound of the bucket holding the percentile, never more than the slowest call
+     */
+    public double getPercentileMillis(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min((2L << i) / 1e3, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), getMeanMillis(), getP50Millis(), getP90Millis(), getP99Millis(), getMaxMillis());
+    }
+}
@@ -0,0 +1,19 @@
+package com.joss.conductor.mobile.util;
+
+/**
+ * JMX view of a {@link CommandHistogram}, registered under <code>com.joss.conductor.mobile:type=CommandMetrics</code>.
+ */
+public interface CommandHistogramMBean {
+
+    long getCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+}
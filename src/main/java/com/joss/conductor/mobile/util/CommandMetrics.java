@@ -0,0 +1,108 @@
+package com.joss.conductor.mobile.util;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM wide latency histograms of every driver command, keyed by command name and, for element lookups,
+ * locator strategy, i.e. <code>findElements:id</code>.
+ *
+ * Each histogram is published as an MBean under <code>com.joss.conductor.mobile:type=CommandMetrics</code>
+ * and the whole table is printed by {@link com.joss.conductor.mobile.TestListener} when a test run finishes.
+ */
+public class CommandMetrics {
+
+    private static final String DOMAIN = "com.joss.conductor.mobile";
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+
+    private final ConcurrentHashMap<String, CommandHistogram> histograms = new ConcurrentHashMap<String, CommandHistogram>();
+
+    CommandMetrics() {
+    }
+
+    public static CommandMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param command The command name, see {@link org.openqa.selenium.remote.DriverCommand}
+     * @param strategy The locator strategy of element lookups, null for other commands
+     * @param nanos How long the command took
+     */
+    public void record(String command, String strategy, long nanos) {
+        getHistogram(strategy == null ? command : command + ":" + strategy).record(nanos);
+    }
+
+    public CommandHistogram getHistogram(String key) {
+        CommandHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            CommandHistogram created = new CommandHistogram();
+            histogram = histograms.putIfAbsent(key, created);
+            if (histogram == null) {
+                histogram = created;
+                register(key, created);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @return Every histogram recorded so far, sorted by key
+     */
+    public Map<String, CommandHistogram> snapshot() {
+        return new TreeMap<String, CommandHistogram>(histograms);
+    }
+
+    public boolean isEmpty() {
+        return histograms.isEmpty();
+    }
+
+    public void reset() {
+        for (String key : histograms.keySet()) {
+            unregister(key);
+        }
+        histograms.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        for (Map.Entry<String, CommandHistogram> entry : snapshot().entrySet()) {
+            table.append(String.format("%-40s %s%n", entry.getKey(), entry.getValue()));
+        }
+        return table.toString();
+    }
+
+    private static void register(String key, CommandHistogram histogram) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(key);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(histogram, name);
+            }
+        } catch (JMException e) {
+            System.err.println("WARN: Could not register command metrics for " + key + ": " + e.getMessage());
+        }
+    }
+
+    private static void unregister(String key) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = getObjectName(key);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            System.err.println("WARN: Could not unregister command metrics for " + key + ": " + e.getMessage());
+        }
+    }
+
+    static ObjectName getObjectName(String key) throws JMException {
+        return new ObjectName(DOMAIN + ":type=CommandMetrics,name=" + ObjectName.quote(key));
+    }
+}
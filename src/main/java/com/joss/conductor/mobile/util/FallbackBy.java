@@ -0,0 +1,91 @@
+package com.joss.conductor.mobile.util;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Locator that uses a fast native strategy, and switches to a slower equivalent one for good
+ * if the server does not support the native strategy.
+ *
+ * Only a server rejecting the strategy triggers the fallback, an empty result or any other error does not,
+ * both locators are expected to match the same elements. Instances are shared between threads by
+ * {@link PageUtil}, so the locator describes and compares itself the same way before and after switching.
+ */
+public class FallbackBy extends By {
+
+    private final By primary;
+    private final By fallback;
+    private volatile boolean primaryUnsupported;
+
+    public FallbackBy(By primary, By fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    public By getPrimary() {
+        return primary;
+    }
+
+    public By getFallback() {
+        return fallback;
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        if (!primaryUnsupported) {
+            try {
+                return primary.findElements(context);
+            } catch (InvalidSelectorException e) {
+                fallBack();
+            } catch (UnsupportedCommandException e) {
+                fallBack();
+            }
+        }
+        return fallback.findElements(context);
+    }
+
+    private void fallBack() {
+        System.err.println("WARN: " + primary + " is not supported, falling back to " + fallback);
+        primaryUnsupported = true;
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> elements = findElements(context);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + toString());
+        }
+        return elements.get(0);
+    }
+
+    /**
+     * @return The primary locator, whichever one is used
+     */
+    @Override
+    public String toString() {
+        return primary.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FallbackBy)) {
+            return false;
+        }
+        FallbackBy other = (FallbackBy) o;
+        return primary.equals(other.primary) && fallback.equals(other.fallback);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * primary.hashCode() + fallback.hashCode();
+    }
+}
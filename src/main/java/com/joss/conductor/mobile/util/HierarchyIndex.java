@@ -0,0 +1,239 @@
+package com.joss.conductor.mobile.util;
+
+import org.openqa.selenium.By;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A page source parsed once into a flat list of nodes, with hash indexes on the attributes locators
+ * usually match on.
+ *
+ * Id, accessibility id, class name and simple <code>//tag[@attribute='value']</code> XPath locators can be
+ * evaluated against the index without asking the server, {@link #find(By)} returns null for anything else.
+ */
+public class HierarchyIndex {
+
+    public static final String RESOURCE_ID = "resource-id";
+    public static final String CONTENT_DESC = "content-desc";
+    public static final String TEXT = "text";
+    public static final String NAME = "name";
+    public static final String LABEL = "label";
+    public static final String VALUE = "value";
+
+    private static final String[] INDEXED_ATTRIBUTES = {RESOURCE_ID, CONTENT_DESC, TEXT, NAME, LABEL, VALUE};
+    private static final Pattern SIMPLE_XPATH = Pattern.compile("^//([\\w.]+|\\*)\\[@([\\w-]+)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")\\]$");
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    private final List<HierarchyNode> nodes;
+    private final Map<String, Map<String, List<HierarchyNode>>> indexes = new HashMap<String, Map<String, List<HierarchyNode>>>();
+
+    private HierarchyIndex(List<HierarchyNode> nodes) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        for (String attribute : INDEXED_ATTRIBUTES) {
+            indexes.put(attribute, new HashMap<String, List<HierarchyNode>>());
+        }
+        for (HierarchyNode node : nodes) {
+            for (String attribute : INDEXED_ATTRIBUTES) {
+                String value = node.getAttribute(attribute);
+                if (value != null && !value.isEmpty()) {
+                    Map<String, List<HierarchyNode>> index = indexes.get(attribute);
+                    List<HierarchyNode> matches = index.get(value);
+                    if (matches == null) {
+                        matches = new ArrayList<HierarchyNode>(1);
+                        index.put(value, matches);
+                    }
+                    matches.add(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse a page source as returned by {@link org.openqa.selenium.WebDriver#getPageSource()}.
+     *
+     * @throws IllegalArgumentException if the source is not well formed XML
+     */
+    public static HierarchyIndex parse(String source) {
+        final List<HierarchyNode> nodes = new ArrayList<HierarchyNode>();
+        try {
+            SAXParser parser;
+            synchronized (PARSER_FACTORY) {
+                parser = PARSER_FACTORY.newSAXParser();
+            }
+            parser.parse(new InputSource(new StringReader(source)), new DefaultHandler() {
+                private final Deque<Integer> parents = new ArrayDeque<Integer>();
+
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    String[] pairs = new String[attributes.getLength() * 2];
+                    for (int i = 0; i < attributes.getLength(); i++) {
+                        pairs[i * 2] = attributes.getQName(i).intern();
+                        pairs[i * 2 + 1] = attributes.getValue(i);
+                    }
+                    int index = nodes.size();
+                    nodes.add(new HierarchyNode(index, parents.isEmpty() ? -1 : parents.peek(), qName.intern(), pairs));
+                    parents.push(index);
+                }
+
+                @Override
+                public void endElement(String uri, String localName, String qName) {
+                    parents.pop();
+                }
+            });
+        } catch (SAXException e) {
+            throw new IllegalArgumentException("Page source is not well formed: " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new HierarchyIndex(nodes);
+    }
+
+    public List<HierarchyNode> getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return Every node below the given node, in document order
+     */
+    public List<HierarchyNode> getDescendants(HierarchyNode node) {
+        int end = node.getIndex() + 1;
+        // Descendants directly follow their ancestor, the subtree ends at the first node hanging above it
+        while (end < nodes.size() && nodes.get(end).getParent() >= node.getIndex()) {
+            end++;
+        }
+        return nodes.subList(node.getIndex() + 1, end);
+    }
+
+    /**
+     * @return <code>true</code> if {@link #find(By)} can evaluate the locator locally
+     */
+    public static boolean canEvaluate(By by) {
+        String locator = by.toString();
+        return locator.startsWith("By.id: ")
+                || locator.startsWith("By.AccessibilityId: ")
+                || locator.startsWith("By.className: ")
+                || (locator.startsWith("By.xpath: ") && SIMPLE_XPATH.matcher(locator.substring(10)).matches());
+    }
+
+    /**
+     * Evaluate a locator against the hierarchy, matching ids as written.
+     *
+     * @return The matching nodes in document order, or null if the locator can't be evaluated locally
+     */
+    public List<HierarchyNode> find(By by) {
+        return find(by, null);
+    }
+
+    /**
+     * Evaluate a locator against the hierarchy.
+     *
+     * @param idPackage The package UiAutomator2 qualifies bare Android ids with, i.e. <code>login</code> matches
+     *                  the resource-id <code>idPackage:id/login</code>. Null to match ids as written.
+     * @return The matching nodes in document order, or null if the locator can't be evaluated locally
+     */
+    public List<HierarchyNode> find(By by, String idPackage) {
+        String locator = by.toString();
+        if (locator.startsWith("By.id: ")) {
+            String id = locator.substring(7);
+            String resourceId = idPackage == null || id.contains(":id/") ? id : idPackage + ":id/" + id;
+            // Android matches the resource-id, iOS matches the accessibility identifier
+            return union(findByAttribute(RESOURCE_ID, resourceId), findByAttribute(NAME, id));
+        } else if (locator.startsWith("By.AccessibilityId: ")) {
+            return union(findByAttribute(CONTENT_DESC, locator.substring(20)), findByAttribute(NAME, locator.substring(20)));
+        } else if (locator.startsWith("By.className: ")) {
+            return findByTag(locator.substring(14));
+        } else if (locator.startsWith("By.xpath: ")) {
+            Matcher matcher = SIMPLE_XPATH.matcher(locator.substring(10));
+            if (matcher.matches()) {
+                String value = matcher.group(3) != null ? matcher.group(3) : matcher.group(4);
+                return findByTagAndAttribute(matcher.group(1), matcher.group(2), value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Every node whose attribute equals the value, in document order
+     */
+    public List<HierarchyNode> findByAttribute(String attribute, String value) {
+        Map<String, List<HierarchyNode>> index = indexes.get(attribute);
+        if (index != null) {
+            List<HierarchyNode> matches = index.get(value);
+            return matches == null ? Collections.<HierarchyNode>emptyList() : Collections.unmodifiableList(matches);
+        }
+        List<HierarchyNode> matches = new ArrayList<HierarchyNode>();
+        for (HierarchyNode node : nodes) {
+            if (value.equals(node.getAttribute(attribute))) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    private List<HierarchyNode> findByTag(String tag) {
+        List<HierarchyNode> matches = new ArrayList<HierarchyNode>();
+        for (HierarchyNode node : nodes) {
+            if (node.getTag().equals(tag)) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    private List<HierarchyNode> findByTagAndAttribute(String tag, String attribute, String value) {
+        List<HierarchyNode> byAttribute = findByAttribute(attribute, value);
+        if (tag.equals("*")) {
+            return byAttribute;
+        }
+        List<HierarchyNode> matches = new ArrayList<HierarchyNode>();
+        for (HierarchyNode node : byAttribute) {
+            if (node.getTag().equals(tag)) {
+                matches.add(node);
+            }
+        }
+        return matches;
+    }
+
+    private static List<HierarchyNode> union(List<HierarchyNode> first, List<HierarchyNode> second) {
+        if (first.isEmpty()) {
+            return second;
+        } else if (second.isEmpty()) {
+            return first;
+        }
+        Set<HierarchyNode> union = new LinkedHashSet<HierarchyNode>(first);
+        union.addAll(second);
+        List<HierarchyNode> matches = new ArrayList<HierarchyNode>(union);
+        Collections.sort(matches, new Comparator<HierarchyNode>() {
+            public int compare(HierarchyNode a, HierarchyNode b) {
+                return a.getIndex() - b.getIndex();
+            }
+        });
+        return matches;
+    }
+}
@@ -0,0 +1,73 @@
+package com.joss.conductor.mobile.util;
+
+/**
+ * A single element of a parsed page source, see {@link HierarchyIndex}.
+ */
+public class HierarchyNode {
+
+    private final int index;
+    private final int parent;
+    private final String tag;
+    private final String[] attributes;
+
+    HierarchyNode(int index, int parent, String tag, String[] attributes) {
+        this.index = index;
+        this.parent = parent;
+        this.tag = tag;
+        this.attributes = attributes;
+    }
+
+    /**
+     * @return Position of the node in document order
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Index of the parent node, -1 for the root
+     */
+    public int getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The element class, i.e. android.widget.TextView or XCUIElementTypeStaticText
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    public String getAttribute(String name) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equals(name)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The text the element displays: <code>text</code> on Android, <code>label</code> or
+     * <code>value</code> on iOS
+     */
+    public String getText() {
+        String text = getAttribute(HierarchyIndex.TEXT);
+        if (text == null) {
+            text = getAttribute(HierarchyIndex.LABEL);
+        }
+        if (text == null) {
+            text = getAttribute(HierarchyIndex.VALUE);
+        }
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("<").append(tag);
+        for (int i = 0; i < attributes.length; i += 2) {
+            builder.append(' ').append(attributes[i]).append("=\"").append(attributes[i + 1]).append('"');
+        }
+        return builder.append("/>").toString();
+    }
+}
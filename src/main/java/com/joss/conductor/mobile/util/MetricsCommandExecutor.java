@@ -0,0 +1,57 @@
+package com.joss.conductor.mobile.util;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Command executor that times every command sent to the Appium server in {@link CommandMetrics}, and counts it
+ * in the {@link CommandCounter} of the test currently using the session.
+ */
+public class MetricsCommandExecutor extends AppiumCommandExecutor {
+
+    private final CommandMetrics metrics;
+    private volatile CommandCounter commandCounter;
+
+    public MetricsCommandExecutor(URL remoteAddress) {
+        this(remoteAddress, CommandMetrics.getInstance());
+    }
+
+    public MetricsCommandExecutor(URL remoteAddress, CommandMetrics metrics) {
+        super(MobileCommand.commandRepository, remoteAddress);
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param commandCounter Where commands are counted from now on, null to stop counting
+     */
+    public void setCommandCounter(CommandCounter commandCounter) {
+        this.commandCounter = commandCounter;
+    }
+
+    @Override
+    public Response execute(Command command) throws IOException {
+        CommandCounter counter = commandCounter;
+        if (counter != null) {
+            counter.increment(command.getName());
+        }
+        long start = System.nanoTime();
+        try {
+            return send(command);
+        } finally {
+            Object using = command.getParameters() == null ? null : command.getParameters().get("using");
+            metrics.record(command.getName(), using == null ? null : using.toString(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Send the command to the server.
+     */
+    protected Response send(Command command) throws IOException {
+        return super.execute(command);
+    }
+}
@@ -0,0 +1,70 @@
+package com.joss.conductor.mobile.util;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Locator for the Appium selector strategies the java-client does not ship a {@link By} for,
+ * i.e. iOS predicate strings and class chains.
+ */
+public class MobileSelectorBy extends By {
+
+    public static final String IOS_PREDICATE_STRING = "-ios predicate string";
+    public static final String IOS_CLASS_CHAIN = "-ios class chain";
+
+    private final String using;
+    private final String value;
+    private final String description;
+
+    private MobileSelectorBy(String using, String value, String description) {
+        this.using = using;
+        this.value = value;
+        this.description = description;
+    }
+
+    /**
+     * @param predicate An NSPredicate, i.e. <code>name == 'login'</code>
+     */
+    public static By iOSNsPredicateString(String predicate) {
+        return new MobileSelectorBy(IOS_PREDICATE_STRING, predicate, "By.IosNsPredicate: ");
+    }
+
+    /**
+     * @param classChain A class chain query, i.e. <code>**&#47;XCUIElementTypeButton[`name == "login"`]</code>
+     */
+    public static By iOSClassChain(String classChain) {
+        return new MobileSelectorBy(IOS_CLASS_CHAIN, classChain, "By.IosClassChain: ");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        if (context instanceof AppiumDriver) {
+            return ((AppiumDriver<WebElement>) context).findElements(using, value);
+        } else if (context instanceof MobileElement) {
+            return (List<WebElement>) (List<?>) ((MobileElement) context).findElements(using, value);
+        }
+        throw new WebDriverException("Can't search " + context + " using " + using);
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> elements = findElements(context);
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + toString());
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return description + value;
+    }
+}
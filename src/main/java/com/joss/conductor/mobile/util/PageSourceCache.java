@@ -0,0 +1,33 @@
+package com.joss.conductor.mobile.util;
+
+/**
+ * Holds the last page source downloaded for a session.
+ *
+ * The snapshot is reused until it is older than the time-to-live, which covers UI changes nobody told us
+ * about, or until it is invalidated by an action that changes the screen.
+ */
+public class PageSourceCache {
+
+    private String source;
+    private long fetchedAtMillis;
+
+    /**
+     * @param ttlMillis How old the snapshot may be
+     * @return The cached page source, or null if there is none or it expired
+     */
+    public synchronized String get(long ttlMillis) {
+        if (source != null && System.currentTimeMillis() - fetchedAtMillis < ttlMillis) {
+            return source;
+        }
+        return null;
+    }
+
+    public synchronized void put(String source) {
+        this.source = source;
+        this.fetchedAtMillis = System.currentTimeMillis();
+    }
+
+    public synchronized void invalidate() {
+        source = null;
+    }
+}
@@ -1,27 +1,168 @@
 package com.joss.conductor.mobile.util;
 
 import com.joss.conductor.mobile.Config;
+import com.joss.conductor.mobile.LocatorStrategy;
+import com.joss.conductor.mobile.Platform;
+import io.appium.java_client.MobileBy;
 import org.openqa.selenium.By;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Created on 9/2/16.
  */
 public class PageUtil {
 
-    private static final String ANDROID_APP_PACKAGE_NAME_ID = "%s:id/%s";
-    private static final String IOS_XPATH_ACCESSIBILITY_IDENTIFIER = "//*[@name='%s']";
+    private static final String ANDROID_ID_SEPARATOR = ":id/";
+    private static final int MAX_CACHED_LOCATORS = 4096;
+
+    private static final Map<Key, By> CACHE = new ConcurrentHashMap<Key, By>();
 
+    /**
+     * Build the locator of a string id, the {@link LocatorStrategy} comes from the config and defaults to
+     * resource-id on Android and accessibility id on iOS. Locators are cached per platform, package and id.
+     */
     public static By buildBy(Config config, String identifier) {
-        switch (config.platformName()) {
+        Platform platform = config.platformName();
+        String appPackageName = config.appPackageName();
+        LocatorStrategy strategy = LocatorStrategy.fromString(config.locatorStrategy());
+
+        Key key = new Key(platform, appPackageName, strategy, identifier);
+        By by = CACHE.get(key);
+        if (by == null) {
+            by = createBy(platform, appPackageName, strategy, identifier);
+            if (CACHE.size() >= MAX_CACHED_LOCATORS) {
+                CACHE.clear();
+            }
+            CACHE.put(key, by);
+        }
+        return by;
+    }
+
+    private static By createBy(Platform platform, String appPackageName, LocatorStrategy strategy, String identifier) {
+        switch (platform) {
             case ANDROID:
-                return By.id(String.format(ANDROID_APP_PACKAGE_NAME_ID, config.appPackageName(), identifier));
+                return createAndroidBy(strategy == null ? LocatorStrategy.ID : strategy, appPackageName, identifier);
             case IOS:
-                return By.xpath(String.format(IOS_XPATH_ACCESSIBILITY_IDENTIFIER, identifier));
+                return createIosBy(strategy == null ? LocatorStrategy.ACCESSIBILITY_ID : strategy, identifier);
             default:
-                System.err.println("Unknown platform: " + config.platformName());
+                System.err.println("Unknown platform: " + platform);
                 System.exit(1);
         }
         return null;
     }
 
+    private static By createAndroidBy(LocatorStrategy strategy, String appPackageName, String identifier) {
+        String resourceId = appPackageName + ANDROID_ID_SEPARATOR + identifier;
+        switch (strategy) {
+            case ID:
+                return By.id(resourceId);
+            case ACCESSIBILITY_ID:
+                return MobileBy.AccessibilityId(identifier);
+            case UIAUTOMATOR:
+                return MobileBy.AndroidUIAutomator("new UiSelector().resourceId(\"" + escapeJava(resourceId) + "\")");
+            case XPATH:
+                return By.xpath("//*[@resource-id=" + xpathLiteral(resourceId) + "]");
+            default:
+                throw new IllegalArgumentException(strategy + " is not supported on Android");
+        }
+    }
+
+    private static By createIosBy(LocatorStrategy strategy, String identifier) {
+        By xpath = By.xpath("//*[@name=" + xpathLiteral(identifier) + "]");
+        switch (strategy) {
+            case ID:
+            case ACCESSIBILITY_ID:
+                return new FallbackBy(MobileBy.AccessibilityId(identifier), xpath);
+            case IOS_PREDICATE:
+                return new FallbackBy(MobileSelectorBy.iOSNsPredicateString(
+                        "name == '" + identifier.replace("\\", "\\\\").replace("'", "\\'") + "'"), xpath);
+            case IOS_CLASS_CHAIN:
+                return new FallbackBy(MobileSelectorBy.iOSClassChain(
+                        "**/*[`name == \"" + identifier.replace("\\", "\\\\").replace("\"", "\\\"") + "\"`]"), xpath);
+            case XPATH:
+                return xpath;
+            default:
+                throw new IllegalArgumentException(strategy + " is not supported on iOS");
+        }
+    }
+
+    /**
+     * Build a locator for the elements showing a text, so the device searches for it instead of the page source
+     * being downloaded: <code>textContains</code> on Android, <code>label</code> or <code>value</code> on iOS.
+     *
+     * @return The locator, or null if the platform has no such query
+     */
+    public static By buildTextContains(Platform platform, String text) {
+        if (platform == null) {
+            return null;
+        }
+        switch (platform) {
+            case ANDROID:
+                return MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"" + escapeJava(text) + "\")");
+            case IOS:
+                String quoted = "'" + text.replace("\\", "\\\\").replace("'", "\\'") + "'";
+                return MobileSelectorBy.iOSNsPredicateString(
+                        "label CONTAINS " + quoted + " OR value CONTAINS " + quoted);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Quote a value for XPath 1.0, which can't escape quotes: a value with both kinds is built with concat().
+     */
+    private static String xpathLiteral(String value) {
+        if (value.indexOf('\'') < 0) {
+            return "'" + value + "'";
+        } else if (value.indexOf('"') < 0) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private static String escapeJava(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static final class Key {
+        private final Platform platform;
+        private final String appPackageName;
+        private final LocatorStrategy strategy;
+        private final String identifier;
+        private final int hash;
+
+        Key(Platform platform, String appPackageName, LocatorStrategy strategy, String identifier) {
+            this.platform = platform;
+            this.appPackageName = appPackageName;
+            this.strategy = strategy;
+            this.identifier = identifier;
+            int result = platform == null ? 0 : platform.hashCode();
+            result = 31 * result + (appPackageName == null ? 0 : appPackageName.hashCode());
+            result = 31 * result + (strategy == null ? 0 : strategy.hashCode());
+            result = 31 * result + (identifier == null ? 0 : identifier.hashCode());
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return platform == key.platform
+                    && strategy == key.strategy
+                    && (appPackageName == null ? key.appPackageName == null : appPackageName.equals(key.appPackageName))
+                    && (identifier == null ? key.identifier == null : identifier.equals(key.identifier));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.joss.conductor.mobile.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled regular expressions of a session, bounded to the most recently used ones.
+ *
+ * A {@link Matcher} is kept per expression and reset for every input, so matching a known expression does
+ * not allocate.
+ */
+public class PatternCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Map<String, Matcher> matchers;
+
+    public PatternCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PatternCache(final int capacity) {
+        this.matchers = new LinkedHashMap<String, Matcher>(16, 0.75f, /*accessOrder=*/true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Matcher> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return <code>true</code> if the expression is found anywhere in the input, like {@link Matcher#find()}
+     */
+    public synchronized boolean find(String regex, CharSequence input) {
+        Matcher matcher = matchers.get(regex);
+        if (matcher == null) {
+            matcher = Pattern.compile(regex).matcher(input);
+            matchers.put(regex, matcher);
+        } else {
+            matcher.reset(input);
+        }
+        boolean found = matcher.find();
+        // Do not hold on to the input until the next match
+        matcher.reset("");
+        return found;
+    }
+
+    public synchronized int size() {
+        return matchers.size();
+    }
+}
@@ -1,22 +1,71 @@
 package com.joss.conductor.mobile.util;
 
+import com.joss.conductor.mobile.Constants;
+
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Created on 9/14/16.
+ *
+ * <code>/default.properties</code> is read once per class loader and the same read-only {@link Properties}
+ * is handed to every test. Run with <code>-DconductorWatchProperties=true</code> to pick up edits of the
+ * file without restarting the JVM.
  */
 public class PropertiesUtil {
 
     private static final String DEFAULT_PROPERTIES_PATH = "/default.properties";
 
+    private static final Map<ClassLoader, Entry> CACHE = new WeakHashMap<ClassLoader, Entry>();
+
     public static Properties getDefaultProperties(Object object) {
+        Class<?> clazz = object.getClass();
+        boolean watch = Boolean.valueOf(JvmUtil.getJvmProperty(Constants.JVM_CONDUCTOR_WATCH_PROPERTIES));
+        synchronized (CACHE) {
+            Entry entry = CACHE.get(clazz.getClassLoader());
+            if (entry == null || (watch && entry.isModified())) {
+                entry = load(clazz);
+                CACHE.put(clazz.getClassLoader(), entry);
+            }
+            return entry.properties;
+        }
+    }
+
+    /**
+     * Forget every loaded <code>/default.properties</code>, the next call reads the file again.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    private static Entry load(Class<?> clazz) {
         Properties props = new Properties();
+        URL url = clazz.getResource(DEFAULT_PROPERTIES_PATH);
+        File file = null;
         try {
-            InputStream inputStream = object.getClass().getResourceAsStream(DEFAULT_PROPERTIES_PATH);
-            if (inputStream != null) {
-                props.load(inputStream);
+            if (url != null) {
+                if ("file".equals(url.getProtocol())) {
+                    file = new File(url.toURI());
+                }
+                InputStream inputStream = url.openStream();
+                try {
+                    props.load(inputStream);
+                } finally {
+                    inputStream.close();
+                }
             }
         } catch (IOException ioException) {
             ioException.printStackTrace();
@@ -25,7 +74,138 @@ public class PropertiesUtil {
             exception.printStackTrace();
             Log.fatal("Couldn\'t load in default properties");
         }
-        return props;
+        return new Entry(new ReadOnlyProperties(props), file);
+    }
+
+    private static class Entry {
+        private final Properties properties;
+        private final File file;
+        private final long lastModified;
+
+        Entry(Properties properties, File file) {
+            this.properties = properties;
+            this.file = file;
+            this.lastModified = file == null ? 0 : file.lastModified();
+        }
+
+        /**
+         * @return <code>true</code> if the file changed on disk since it was read, always false for
+         * properties packaged in a jar
+         */
+        boolean isModified() {
+            return file != null && file.lastModified() != lastModified;
+        }
     }
 
+    /**
+     * Properties shared between tests, every mutation throws {@link UnsupportedOperationException}.
+     */
+    private static class ReadOnlyProperties extends Properties {
+
+        private static final long serialVersionUID = 1L;
+
+        ReadOnlyProperties(Properties source) {
+            for (String name : source.stringPropertyNames()) {
+                super.put(name, source.getProperty(name));
+            }
+        }
+
+        @Override
+        public synchronized Object put(Object key, Object value) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void putAll(Map<?, ?> map) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object remove(Object key) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void clear() {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void load(Reader reader) throws IOException {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void load(InputStream inStream) throws IOException {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void loadFromXML(InputStream in) throws IOException {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object putIfAbsent(Object key, Object value) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized boolean remove(Object key, Object value) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object replace(Object key, Object value) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object computeIfPresent(Object key,
+                                                    BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object compute(Object key,
+                                           BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public synchronized Object merge(Object key, Object value,
+                                         BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+            throw new UnsupportedOperationException("Default properties are read-only");
+        }
+
+        @Override
+        public Set<Object> keySet() {
+            return Collections.unmodifiableSet(super.keySet());
+        }
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+            return Collections.unmodifiableSet(super.entrySet());
+        }
+
+        @Override
+        public Collection<Object> values() {
+            return Collections.unmodifiableCollection(super.values());
+        }
+    }
 }
@@ -2,24 +2,60 @@ package com.joss.conductor.mobile.util;
 
 import com.joss.conductor.mobile.Locomotive;
 import io.appium.java_client.AppiumDriver;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 
 import java.io.File;
 import java.io.IOException;
-import java.sql.Timestamp;
-import java.text.SimpleDateFormat;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created on 7/25/16.
+ *
+ * Screenshots are fetched from the driver on the test thread and written to disk by a single background
+ * writer. When more than {@link #QUEUE_CAPACITY} screenshots are waiting, new ones are dropped instead of
+ * blocking the test, see {@link #getDroppedCount()}.
  */
 public class ScreenShotUtil {
 
-    private static final SimpleDateFormat SDF = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss.S");
+    public static final int QUEUE_CAPACITY = 32;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy.MM.dd.HH.mm.ss.SSS");
     private static final String DIR = "target/test-screenshots";
     private static final String WORKING_DIR = System.getProperty("user.dir");
     private static final String PNG_EXT = ".png";
 
+    private static final Object PENDING_LOCK = new Object();
+    private static int pending;
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+            new ThreadFactory() {
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "conductor-screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new RejectedExecutionHandler() {
+                public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+                    DROPPED.incrementAndGet();
+                    finished();
+                }
+            });
+
     public static void take(Locomotive locomotive, String testName) {
         writeFile(locomotive.driver, createFilePathAndName(testName));
     }
@@ -28,14 +64,88 @@ public class ScreenShotUtil {
         writeFile(locomotive.driver, createFilePathAndName(path, testName));
     }
 
-    private static void writeFile(AppiumDriver appiumDriver, String filePathAndName) {
+    private static void writeFile(AppiumDriver appiumDriver, final String filePathAndName) {
+        final byte[] png = appiumDriver.getScreenshotAs(OutputType.BYTES);
+        synchronized (PENDING_LOCK) {
+            pending++;
+        }
+        WRITER.execute(new Runnable() {
+            public void run() {
+                try {
+                    write(Paths.get(filePathAndName), png);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    finished();
+                }
+            }
+        });
+    }
+
+    private static void write(Path path, byte[] bytes) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
         try {
-            FileUtils.copyFile(appiumDriver.getScreenshotAs(OutputType.FILE), new File(filePathAndName));
-        } catch (IOException e) {
-            e.printStackTrace();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void finished() {
+        synchronized (PENDING_LOCK) {
+            pending--;
+            PENDING_LOCK.notifyAll();
         }
     }
 
+    /**
+     * Wait until every queued screenshot is on disk.
+     *
+     * @param timeoutMillis Maximum time to wait
+     * @return <code>true</code> if the queue drained in time
+     */
+    public static boolean awaitPending(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (PENDING_LOCK) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    PENDING_LOCK.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return Screenshots taken but not written to disk yet
+     */
+    public static int getQueueDepth() {
+        synchronized (PENDING_LOCK) {
+            return pending;
+        }
+    }
+
+    /**
+     * @return Screenshots discarded because the writer queue was full
+     */
+    public static long getDroppedCount() {
+        return DROPPED.get();
+    }
+
     public static String createFilePathAndName(String testName) {
         return WORKING_DIR
                 + File.separator
@@ -57,7 +167,7 @@ public class ScreenShotUtil {
     }
 
     private static String getTimestamp() {
-        return SDF.format(new Timestamp(System.currentTimeMillis()));
+        return TIMESTAMP.format(LocalDateTime.now());
     }
 
     private static String removeInvalidFilenameChars(String name) {
@@ -72,4 +182,3 @@ public class ScreenShotUtil {
         return name.substring(0, name.length() > 100 ? 100 : name.length());
     }
 }
-
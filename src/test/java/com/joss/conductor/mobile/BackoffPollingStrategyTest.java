@@ -0,0 +1,41 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.swing.assertions.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+/**
+ * Created on 10/18/26.
+ */
+public class BackoffPollingStrategyTest {
+
+    private static final By BY = By.id("com.joss.conductor.mobile:id/login");
+
+    @Test
+    public void test_delay_backs_off_exponentially_up_to_max() {
+        BackoffPollingStrategy strategy = new BackoffPollingStrategy(50, 1000, 2.0, /*jitter=*/0);
+
+        Assertions.assertThat(strategy.nextDelay(BY, 1)).isEqualTo(50);
+        Assertions.assertThat(strategy.nextDelay(BY, 2)).isEqualTo(100);
+        Assertions.assertThat(strategy.nextDelay(BY, 3)).isEqualTo(200);
+        Assertions.assertThat(strategy.nextDelay(BY, 10)).isEqualTo(1000);
+    }
+
+    @Test
+    public void test_jitter_stays_within_bounds() {
+        BackoffPollingStrategy strategy = new BackoffPollingStrategy(100, 1000, 2.0, /*jitter=*/0.2);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(strategy.nextDelay(BY, 1)).isBetween(80L, 120L);
+        }
+    }
+
+    @Test
+    public void test_first_delay_adapts_to_appearance_latency() {
+        BackoffPollingStrategy strategy = new BackoffPollingStrategy(50, 1000, 2.0, /*jitter=*/0);
+        strategy.recordFound(BY, 600);
+
+        Assertions.assertThat(strategy.nextDelay(BY, 1)).isEqualTo(300);
+        Assertions.assertThat(strategy.nextDelay(By.id("other"), 1)).isEqualTo(50);
+    }
+}
@@ -0,0 +1,66 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.CommandHistogram;
+import com.joss.conductor.mobile.util.CommandMetrics;
+import org.assertj.swing.assertions.Assertions;
+import org.openqa.selenium.remote.DriverCommand;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 10/18/26.
+ */
+public class CommandMetricsTest {
+
+    @AfterMethod
+    public void teardown() {
+        CommandMetrics.getInstance().reset();
+    }
+
+    @Test
+    public void test_histogram_percentiles() {
+        CommandHistogram histogram = new CommandHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+
+        Assertions.assertThat(histogram.getCount()).isEqualTo(100);
+        Assertions.assertThat(histogram.getMeanMillis()).isEqualTo(59.0);
+        Assertions.assertThat(histogram.getMaxMillis()).isEqualTo(500.0);
+        // Buckets are powers of two, 10ms falls in the 8.192ms - 16.384ms bucket
+        Assertions.assertThat(histogram.getP50Millis()).isEqualTo(16.384);
+        Assertions.assertThat(histogram.getP90Millis()).isEqualTo(16.384);
+        Assertions.assertThat(histogram.getP99Millis()).isEqualTo(500.0);
+    }
+
+    @Test
+    public void test_lookups_are_keyed_by_strategy() {
+        CommandMetrics metrics = CommandMetrics.getInstance();
+        metrics.record(DriverCommand.FIND_ELEMENTS, "id", 1000);
+        metrics.record(DriverCommand.FIND_ELEMENTS, "xpath", 1000);
+        metrics.record(DriverCommand.FIND_ELEMENTS, "xpath", 1000);
+        metrics.record(DriverCommand.CLICK_ELEMENT, null, 1000);
+
+        Assertions.assertThat(metrics.snapshot().keySet())
+                .containsExactly("clickElement", "findElements:id", "findElements:xpath");
+        Assertions.assertThat(metrics.getHistogram("findElements:xpath").getCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void test_histograms_are_published_over_jmx() throws Exception {
+        CommandMetrics.getInstance().record(DriverCommand.GET_PAGE_SOURCE, null, 1000);
+        ObjectName name = new ObjectName("com.joss.conductor.mobile:type=CommandMetrics,name="
+                + ObjectName.quote(DriverCommand.GET_PAGE_SOURCE));
+
+        Assertions.assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Count"))
+                .isEqualTo(1L);
+    }
+}
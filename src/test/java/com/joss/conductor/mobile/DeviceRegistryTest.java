@@ -0,0 +1,82 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.remote.MobileCapabilityType;
+import org.assertj.swing.assertions.Assertions;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created on 10/18/26.
+ */
+public class DeviceRegistryTest {
+
+    @Test
+    public void test_parse_device_with_capabilities() {
+        Device device = Device.parse(" emulator-5554;deviceName=Pixel;platformVersion=8.0 ");
+
+        DesiredCapabilities capabilities = new DesiredCapabilities();
+        device.applyTo(capabilities);
+
+        Assertions.assertThat(capabilities.getCapability(MobileCapabilityType.UDID))
+                .isEqualTo("emulator-5554");
+        Assertions.assertThat(capabilities.getCapability(MobileCapabilityType.DEVICE_NAME))
+                .isEqualTo("Pixel");
+        Assertions.assertThat(capabilities.getCapability(MobileCapabilityType.PLATFORM_VERSION))
+                .isEqualTo("8.0");
+    }
+
+    @Test
+    public void test_registry_is_shared_per_spec() {
+        DeviceRegistry registry = DeviceRegistry.forDevices("a,b,c");
+
+        Assertions.assertThat(registry.size())
+                .isEqualTo(3);
+        Assertions.assertThat(DeviceRegistry.forDevices("a,b,c"))
+                .isSameAs(registry);
+    }
+
+    @Test
+    public void test_lease_is_held_per_thread_until_released() {
+        DeviceRegistry registry = new DeviceRegistry(Arrays.asList(Device.parse("a"), Device.parse("b")));
+
+        Device device = registry.lease();
+        Assertions.assertThat(registry.lease())
+                .isSameAs(device);
+        Assertions.assertThat(registry.availableCount())
+                .isEqualTo(1);
+
+        registry.release();
+        registry.release();
+        Assertions.assertThat(registry.availableCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void test_lease_blocks_until_a_device_is_released() throws Exception {
+        final DeviceRegistry registry = new DeviceRegistry(Arrays.asList(Device.parse("a")));
+        final AtomicReference<Device> waiterDevice = new AtomicReference<Device>();
+        final CountDownLatch leased = new CountDownLatch(1);
+
+        Device device = registry.lease();
+        Thread waiter = new Thread(new Runnable() {
+            public void run() {
+                waiterDevice.set(registry.lease());
+                leased.countDown();
+            }
+        });
+        waiter.start();
+
+        Assertions.assertThat(leased.await(200, TimeUnit.MILLISECONDS))
+                .isFalse();
+        registry.release();
+        Assertions.assertThat(leased.await(5, TimeUnit.SECONDS))
+                .isTrue();
+        Assertions.assertThat(waiterDevice.get())
+                .isSameAs(device);
+    }
+}
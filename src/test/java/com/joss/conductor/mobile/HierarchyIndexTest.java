@@ -0,0 +1,102 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.HierarchyIndex;
+import io.appium.java_client.MobileBy;
+import org.assertj.swing.assertions.Assertions;
+import org.openqa.selenium.By;
+import org.testng.annotations.Test;
+
+/**
+ * Created on 10/18/26.
+ */
+public class HierarchyIndexTest {
+
+    private static final String ANDROID_SOURCE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<hierarchy rotation=\"0\">"
+            + "<android.widget.FrameLayout resource-id=\"com.joss:id/root\" text=\"\">"
+            + "<android.widget.TextView resource-id=\"com.joss:id/title\" text=\"Welcome\" content-desc=\"title\"/>"
+            + "<android.widget.Button resource-id=\"com.joss:id/login\" text=\"Log in\"/>"
+            + "<android.widget.TextView resource-id=\"com.joss:id/row\" text=\"Row 1\"/>"
+            + "<android.widget.TextView resource-id=\"com.joss:id/row\" text=\"Row 2\"/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    private static final String IOS_SOURCE = "<AppiumAUT>"
+            + "<XCUIElementTypeApplication name=\"Conductor\">"
+            + "<XCUIElementTypeStaticText name=\"title\" label=\"Welcome\"/>"
+            + "<XCUIElementTypeButton name=\"login\" label=\"Log in\"/>"
+            + "</XCUIElementTypeApplication>"
+            + "</AppiumAUT>";
+
+    @Test
+    public void test_android_locators_are_evaluated_locally() {
+        HierarchyIndex index = HierarchyIndex.parse(ANDROID_SOURCE);
+
+        Assertions.assertThat(index.find(By.id("com.joss:id/row"))).hasSize(2);
+        Assertions.assertThat(index.find(By.id("com.joss:id/login")).get(0).getText()).isEqualTo("Log in");
+        Assertions.assertThat(index.find(MobileBy.AccessibilityId("title"))).hasSize(1);
+        Assertions.assertThat(index.find(By.className("android.widget.TextView"))).hasSize(3);
+        Assertions.assertThat(index.find(By.xpath("//android.widget.TextView[@text='Row 2']"))).hasSize(1);
+        Assertions.assertThat(index.find(By.id("com.joss:id/missing"))).isEmpty();
+    }
+
+    @Test
+    public void test_bare_android_ids_belong_to_the_app() {
+        HierarchyIndex index = HierarchyIndex.parse(ANDROID_SOURCE);
+
+        Assertions.assertThat(index.find(By.id("login"), "com.joss")).hasSize(1);
+        Assertions.assertThat(index.find(By.id("com.joss:id/login"), "com.joss")).hasSize(1);
+        Assertions.assertThat(index.find(By.id("login"), "com.other")).isEmpty();
+        Assertions.assertThat(index.find(By.id("login"))).isEmpty();
+    }
+
+    @Test
+    public void test_ios_locators_are_evaluated_locally() {
+        HierarchyIndex index = HierarchyIndex.parse(IOS_SOURCE);
+
+        Assertions.assertThat(index.find(By.xpath("//*[@name='login']")).get(0).getText()).isEqualTo("Log in");
+        Assertions.assertThat(index.find(MobileBy.AccessibilityId("title"))).hasSize(1);
+        Assertions.assertThat(index.find(By.id("title"))).hasSize(1);
+    }
+
+    @Test
+    public void test_complex_locators_are_not_evaluated() {
+        HierarchyIndex index = HierarchyIndex.parse(ANDROID_SOURCE);
+        By complex = By.xpath("//android.widget.FrameLayout/android.widget.TextView[2]");
+
+        Assertions.assertThat(HierarchyIndex.canEvaluate(complex)).isFalse();
+        Assertions.assertThat(index.find(complex)).isNull();
+        Assertions.assertThat(index.find(MobileBy.AndroidUIAutomator("new UiSelector()"))).isNull();
+    }
+
+    @Test
+    public void test_compound_predicates_are_not_evaluated() {
+        HierarchyIndex index = HierarchyIndex.parse(ANDROID_SOURCE);
+        By and = By.xpath("//*[@text='Welcome' and @enabled='true']");
+
+        Assertions.assertThat(HierarchyIndex.canEvaluate(and)).isFalse();
+        Assertions.assertThat(index.find(and)).isNull();
+        Assertions.assertThat(HierarchyIndex.canEvaluate(By.xpath("//*[@name='a' or @text='b']"))).isFalse();
+        Assertions.assertThat(HierarchyIndex.canEvaluate(By.xpath("//*[@text='a'][@x='b']"))).isFalse();
+        Assertions.assertThat(HierarchyIndex.canEvaluate(By.xpath("//*[@text=\"a\" and @x=\"b\"]"))).isFalse();
+        Assertions.assertThat(index.find(By.xpath("//*[@text=\"Welcome\"]"))).hasSize(1);
+    }
+
+    @Test
+    public void test_tree_structure_is_kept() {
+        HierarchyIndex index = HierarchyIndex.parse(ANDROID_SOURCE);
+
+        Assertions.assertThat(index.size()).isEqualTo(6);
+        Assertions.assertThat(index.find(By.id("com.joss:id/title")).get(0).getParent())
+                .isEqualTo(index.find(By.id("com.joss:id/root")).get(0).getIndex());
+    }
+
+    @Test
+    public void test_descendants_end_with_the_subtree() {
+        HierarchyIndex index = HierarchyIndex.parse(IOS_SOURCE);
+
+        Assertions.assertThat(index.getDescendants(index.find(By.id("Conductor")).get(0))).hasSize(2);
+        Assertions.assertThat(index.getDescendants(index.find(By.id("title")).get(0))).isEmpty();
+        Assertions.assertThat(index.getDescendants(index.getNodes().get(0))).hasSize(3);
+    }
+}
@@ -6,6 +6,7 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
 import java.util.Properties;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -163,6 +164,13 @@ public class LocomotiveConfigTest {
                 .isEqualTo(LocomotiveConfig.DEFAULT_MAX_RETRIES);
     }
 
+    @Test
+    public void test_page_source_is_not_cached_by_default() {
+        LocomotiveConfig config = new LocomotiveConfig(null, null);
+        Assertions.assertThat(config.pageSourceCacheMillis())
+                .isEqualTo(0);
+    }
+
     @Test
     public void test_apk_full_path() {
         Config androidConfig = mock(Config.class);
@@ -197,4 +205,52 @@ public class LocomotiveConfigTest {
             }
         }).isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    public void test_sources_record_winning_layer() {
+        System.setProperty(Constants.JVM_CONDUCTOR_AUTO_WEBVIEW, Boolean.FALSE.toString());
+        LocomotiveConfig config = new LocomotiveConfig(testConfig, defaultProperties);
+        Assertions.assertThat(config.getSource(Constants.DEFAULT_PROPERTY_AUTO_WEBVIEW))
+                .isEqualTo(ConfigSource.JVM);
+        Assertions.assertThat(config.getSource(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME))
+                .isEqualTo(ConfigSource.TEST);
+        Assertions.assertThat(config.getSource(Constants.DEFAULT_PROPERTY_AUTO_ACCEPT_ALERTS))
+                .isEqualTo(ConfigSource.PROPERTIES);
+        Assertions.assertThat(config.getSource(Constants.DEFAULT_PROPERTY_LOCAL_SERVERS))
+                .isEqualTo(ConfigSource.DEFAULT);
+    }
+
+    @Test
+    public void test_values_are_resolved_once() {
+        LocomotiveConfig config = new LocomotiveConfig(null, defaultProperties);
+        System.setProperty(Constants.JVM_CONDUCTOR_TIMEOUT, String.valueOf(20));
+        defaultProperties.setProperty(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME, "com.joss.conductor.mobile.changed");
+        Assertions.assertThat(config.timeout())
+                .isEqualTo(15);
+        Assertions.assertThat(config.appPackageName())
+                .isEqualTo("com.joss.conductor.mobile.default");
+    }
+
+    @Test
+    public void test_with_overrides_replaces_only_given_values() {
+        LocomotiveConfig config = new LocomotiveConfig(testConfig, defaultProperties);
+        System.setProperty(Constants.JVM_CONDUCTOR_APP_PACKAGE_NAME, "com.joss.conductor.mobile.jvm");
+        LocomotiveConfig overridden = config.withOverrides(
+                Collections.singletonMap(Constants.DEFAULT_PROPERTY_TIMEOUT, String.valueOf(30)));
+
+        Assertions.assertThat(overridden.timeout())
+                .isEqualTo(30);
+        Assertions.assertThat(overridden.getSource(Constants.DEFAULT_PROPERTY_TIMEOUT))
+                .isEqualTo(ConfigSource.OVERRIDE);
+        Assertions.assertThat(overridden.appPackageName())
+                .isEqualTo("com.joss.conductor.mobile.test.andoridConfig");
+        Assertions.assertThat(overridden.getSource(Constants.DEFAULT_PROPERTY_APP_PACKAGE_NAME))
+                .isEqualTo(ConfigSource.TEST);
+        Assertions.assertThat(overridden.platformName())
+                .isEqualTo(Platform.IOS);
+        Assertions.assertThat(overridden.autoWebView())
+                .isTrue();
+        Assertions.assertThat(config.timeout())
+                .isEqualTo(10);
+    }
 }
@@ -1,16 +1,34 @@
 package com.joss.conductor.mobile;
 
+import com.joss.conductor.mobile.util.HierarchyNode;
+import com.joss.conductor.mobile.util.MetricsCommandExecutor;
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileBy;
+import io.appium.java_client.MultiTouchAction;
+import io.appium.java_client.TouchAction;
+import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.remote.AndroidMobileCapabilityType;
 import io.appium.java_client.remote.MobileCapabilityType;
 import org.assertj.core.api.ThrowableAssert;
 import org.assertj.swing.assertions.Assertions;
 import org.openqa.selenium.*;
+import org.openqa.selenium.remote.Command;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.mockito.ArgumentCaptor;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 
@@ -121,6 +139,68 @@ public class LocomotiveTest {
                 .isEqualTo(foundElement);
         verify(mockDriver, times(1))
                 .findElements(id);
+        verify(mockDriver, never())
+                .findElement(id);
+    }
+
+    @Test
+    public void test_fluent_actions_issue_one_find_per_element() {
+        By id = mock(By.class);
+        WebElement foundElement = mock(WebElement.class);
+        when(foundElement.getText()).thenReturn("text");
+        when(foundElement.isDisplayed()).thenReturn(true);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(foundElement));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.click(id);
+        verify(mockDriver, times(1))
+                .findElements(id);
+        verify(foundElement, times(1))
+                .click();
+
+        locomotive.setText(id, "text");
+        verify(mockDriver, times(2))
+                .findElements(id);
+
+        locomotive.validatePresent(id)
+                .validateText(id, "text");
+        verify(mockDriver, times(/*validatePresent, validateText=*/4))
+                .findElements(id);
+        verify(mockDriver, never())
+                .findElement(id);
+    }
+
+    @Test
+    public void test_commands_are_counted_at_the_executor() throws Exception {
+        MetricsCommandExecutor executor = new MetricsCommandExecutor(new URL("http://localhost:4723/wd/hub")) {
+            @Override
+            protected Response send(Command command) {
+                Response response = new Response(new SessionId("session"));
+                response.setStatus(0);
+                if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                    response.setValue(Collections.singletonMap(MobileCapabilityType.PLATFORM_NAME, "Android"));
+                } else if (DriverCommand.FIND_ELEMENTS.equals(command.getName())) {
+                    response.setValue(Collections.singletonList(Collections.singletonMap("ELEMENT", "1")));
+                } else if (DriverCommand.IS_ELEMENT_DISPLAYED.equals(command.getName())) {
+                    response.setValue(true);
+                }
+                return response;
+            }
+        };
+        AndroidDriver driver = new AndroidDriver(executor, new DesiredCapabilities());
+        Locomotive locomotive = new Locomotive(androidConfig, driver);
+
+        locomotive.click(By.id("login"));
+        Assertions.assertThat(locomotive.getCommandCounter().snapshot())
+                .containsEntry(DriverCommand.FIND_ELEMENTS, 1)
+                .containsEntry(DriverCommand.IS_ELEMENT_DISPLAYED, 1)
+                .containsEntry(DriverCommand.CLICK_ELEMENT, 1)
+                .hasSize(3);
+
+        // Commands sent around conductor are counted too
+        driver.getPageSource();
+        Assertions.assertThat(locomotive.getCommandCounter().count(DriverCommand.GET_PAGE_SOURCE))
+                .isEqualTo(1);
     }
 
     @Test
@@ -142,6 +222,170 @@ public class LocomotiveTest {
                 .findElements(id);
     }
 
+    @Test
+    public void validate_attribute_matches_regex_and_reports_mismatch() {
+        final WebElement element = mock(WebElement.class);
+        when(element.getAttribute("enabled")).thenReturn("yes", "true", "false");
+        when(element.toString()).thenReturn("title");
+        final Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateAttribute(element, "enabled", "^(true|yes)$")
+                .validateAttribute(element, "enabled", "^(true|yes)$");
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                locomotive.validateAttribute(element, "enabled", "^(true|yes)$");
+            }
+        }).isInstanceOf(AssertionError.class)
+                .hasMessage("Attribute doesn't match! [Selector: title] [Attribute: enabled] "
+                        + "[Desired value: ^(true|yes)$] [Actual value: false]");
+    }
+
+    @Test
+    public void validate_text_builds_message_on_failure_only() {
+        final WebElement element = mock(WebElement.class);
+        when(element.getText()).thenReturn("Welcome");
+        final Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateText(element, "Welcome")
+                .validateTextIgnoreCase(element, "WELCOME")
+                .validateTextNot(element, "Goodbye");
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                locomotive.validateText(element, "Goodbye");
+            }
+        }).isInstanceOf(AssertionError.class)
+                .hasMessage("Text does not match! [expected: Goodbye] [actual: Welcome]");
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                locomotive.validateTextNotIgnoreCase(element, "welcome");
+            }
+        }).isInstanceOf(AssertionError.class)
+                .hasMessage("Text matches! [expected: welcome] [actual: Welcome]");
+    }
+
+    @Test
+    public void element_cache_reuses_handles_until_screen_changes() {
+        By id = By.id("title");
+        WebElement element = mock(WebElement.class);
+        when(element.getText()).thenReturn("Welcome");
+        when(element.getAttribute("enabled")).thenReturn("true");
+        when(mockDriver.findElements(id)).thenReturn(Collections.<WebElement>singletonList(element));
+        when(androidConfig.elementCache()).thenReturn(true);
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(id)
+                .validateText(id, "Welcome")
+                .validateAttribute(id, "enabled", "true")
+                .click(id);
+        verify(mockDriver, times(1))
+                .findElements(id);
+
+        locomotive.getText(id);
+        verify(mockDriver, times(/*found again after the click=*/2))
+                .findElements(id);
+    }
+
+    @Test
+    public void element_cache_finds_stale_handles_again() {
+        By id = By.id("title");
+        WebElement stale = mock(WebElement.class);
+        when(stale.getText()).thenReturn("Welcome")
+                .thenThrow(new StaleElementReferenceException("gone"));
+        WebElement fresh = mock(WebElement.class);
+        when(fresh.getText()).thenReturn("Goodbye");
+        when(mockDriver.findElements(id)).thenReturn(Collections.<WebElement>singletonList(stale),
+                Collections.<WebElement>singletonList(fresh));
+        when(androidConfig.elementCache()).thenReturn(true);
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        Assertions.assertThat(locomotive.getText(id)).isEqualTo("Welcome");
+        Assertions.assertThat(locomotive.getText(id)).isEqualTo("Goodbye");
+        Assertions.assertThat(locomotive.getText(id)).isEqualTo("Goodbye");
+        verify(mockDriver, times(2)).findElements(id);
+    }
+
+    @Test
+    public void lazy_element_is_found_on_first_use() {
+        By id = By.id("title");
+        WebElement element = mock(WebElement.class);
+        when(element.getText()).thenReturn("Welcome");
+        when(mockDriver.findElements(id)).thenReturn(Collections.<WebElement>singletonList(element));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        LazyElement title = locomotive.element(id);
+        verify(mockDriver, never()).findElements(id);
+
+        locomotive.validateText(title, "Welcome")
+                .click(title);
+        Assertions.assertThat(title.getWrappedElement()).isSameAs(element);
+        verify(mockDriver, times(1)).findElements(id);
+        verify(element).click();
+    }
+
+    @Test
+    public void lazy_element_finds_stale_element_again_once() {
+        By id = By.id("title");
+        WebElement stale = mock(WebElement.class);
+        doThrow(new StaleElementReferenceException("gone")).when(stale).click();
+        WebElement fresh = mock(WebElement.class);
+        doThrow(new StaleElementReferenceException("gone again")).when(fresh).clear();
+        when(mockDriver.findElements(id)).thenReturn(Collections.<WebElement>singletonList(stale),
+                Collections.<WebElement>singletonList(fresh));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        final LazyElement title = locomotive.element(id);
+
+        title.click();
+        verify(fresh).click();
+        Assertions.assertThat(title.getStaleCount()).isEqualTo(1);
+        Assertions.assertThat(locomotive.getStaleElementCount()).isEqualTo(1);
+
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                title.clear();
+            }
+        }).isInstanceOf(StaleElementReferenceException.class);
+        Assertions.assertThat(title.getStaleCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void lazy_element_actions_drop_the_page_source() {
+        By login = By.id("com.joss:id/login");
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(mockDriver.findElements(login)).thenReturn(Collections.singletonList(element));
+        when(androidConfig.localHierarchy()).thenReturn(true);
+        when(androidConfig.pageSourceCacheMillis()).thenReturn(60000);
+        when(mockDriver.getPageSource()).thenReturn(
+                "<hierarchy><android.widget.Button resource-id=\"com.joss:id/login\"/></hierarchy>",
+                "<hierarchy><android.widget.TextView resource-id=\"com.joss:id/welcome\"/></hierarchy>");
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(login);
+        locomotive.element(login).click();
+        locomotive.validatePresent(By.id("com.joss:id/welcome"));
+
+        verify(element).click();
+        verify(mockDriver, times(2))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_wait_for_ele_waits_until_displayed() {
+        LocomotiveConfig config = mock(LocomotiveConfig.class);
+        when(config.retries()).thenReturn(5);
+        when(config.timeout()).thenReturn(5);
+        By id = By.id("title");
+        WebElement element = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(false, true);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(element));
+        Locomotive locomotive = new Locomotive(config, mockDriver);
+
+        Assertions.assertThat(locomotive.waitForElement(id))
+                .isSameAs(element);
+        verify(mockDriver, times(2))
+                .findElements(id);
+    }
+
     @Test
     public void test_wait_for_ele_retries_and_find_item() {
         int numberOfRetries = 5;
@@ -163,6 +407,26 @@ public class LocomotiveTest {
                 .findElements(id);
     }
 
+    @Test
+    public void test_wait_for_ele_polls_until_timeout() {
+        LocomotiveConfig config = mock(LocomotiveConfig.class);
+        when(config.timeout()).thenReturn(1);
+
+        final By id = mock(By.class);
+        when(mockDriver.findElements(id)).thenReturn(Collections.emptyList());
+        final Locomotive locomotive = new Locomotive(config, mockDriver)
+                .setPollingStrategy(new BackoffPollingStrategy(100, 100, 1.0, /*jitter=*/0));
+
+        long start = System.currentTimeMillis();
+        Assertions.assertThat(locomotive.isPresentWait(id))
+                .isFalse();
+        Assertions.assertThat(System.currentTimeMillis() - start)
+                .isBetween(1000L, 1500L);
+        // Lookups every 100ms for 1 second plus the final lookup at the deadline
+        verify(mockDriver, atLeast(10))
+                .findElements(id);
+    }
+
     @Test
     public void test_is_present_wait_found_on_first_try() {
         By id = mock(By.class);
@@ -218,14 +482,57 @@ public class LocomotiveTest {
     @Test
     public void test_get_center_web_element() {
         WebElement element = mock(WebElement.class);
-        when(element.getLocation()).thenReturn(new Point(50, 0));
-        when(element.getSize()).thenReturn(new Dimension(10, 10));
+        when(element.getRect()).thenReturn(new Rectangle(50, 0, 10, 10));
 
         Point center = new Point(55, 5);
         Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
 
         Assertions.assertThat(locomotive.getCenter(element))
                 .isEqualToComparingFieldByField(center);
+        verify(element, never())
+                .getLocation();
+    }
+
+    @Test
+    public void test_get_center_falls_back_without_rect_command() {
+        WebElement element = mock(WebElement.class);
+        when(element.getRect()).thenThrow(new UnsupportedCommandException("rect"));
+        when(element.getLocation()).thenReturn(new Point(50, 0));
+        when(element.getSize()).thenReturn(new Dimension(10, 10));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        locomotive.getCenter(element);
+
+        Assertions.assertThat(locomotive.getCenter(element))
+                .isEqualToComparingFieldByField(new Point(55, 5));
+        verify(element, times(1))
+                .getRect();
+    }
+
+    @Test
+    public void test_screen_size_is_cached_until_rotation() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 50));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        locomotive.swipeCenter(SwipeElementDirection.DOWN);
+        locomotive.swipeCenter(SwipeElementDirection.UP);
+        verify(window, times(1))
+                .getSize();
+
+        when(window.getSize()).thenReturn(new Dimension(50, 100));
+        locomotive.rotate(ScreenOrientation.PORTRAIT);
+        Assertions.assertThat(locomotive.getCenter(/*webElement=*/null))
+                .isEqualToComparingFieldByField(new Point(25, 50));
+        verify(mockDriver, times(1))
+                .rotate(ScreenOrientation.PORTRAIT);
+        verify(window, times(2))
+                .getSize();
     }
 
     @Test
@@ -321,8 +628,7 @@ public class LocomotiveTest {
     @Test
     public void perform_swipe_on_element() {
         final WebElement element = mock(WebElement.class);
-        when(element.getLocation()).thenReturn(new Point(0, 0));
-        when(element.getSize()).thenReturn(new Dimension(10, 10));
+        when(element.getRect()).thenReturn(new Rectangle(0, 0, 10, 10));
 
         WebDriver.Window window = mock(WebDriver.Window.class);
         when(window.getSize()).thenReturn(new Dimension(100, 100));
@@ -389,6 +695,129 @@ public class LocomotiveTest {
         }).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    public void test_text_validations_reuse_page_source_until_screen_changes() {
+        when(androidConfig.pageSourceCacheMillis()).thenReturn(60000);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Welcome\"/>");
+        WebElement element = mock(WebElement.class);
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateTextPresent("Welcome")
+                .validateTextNotPresent("Goodbye")
+                .validateTextPresent("Welcome");
+        verify(mockDriver, times(1))
+                .getPageSource();
+
+        locomotive.click(element)
+                .validateTextPresent("Welcome");
+        verify(mockDriver, times(2))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_text_presence_is_searched_on_device() {
+        WebElement element = mock(WebElement.class);
+        when(mockDriver.findElements(any(By.class))).thenReturn(Collections.singletonList(element));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateTextPresent("Welcome");
+        verify(mockDriver).findElements(
+                MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"Welcome\")"));
+        verify(mockDriver, never())
+                .getPageSource();
+    }
+
+    @Test
+    public void test_text_absence_is_checked_in_page_source() {
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy content-desc=\"Goodbye\"/>");
+        final Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateTextNotPresent("Welcome");
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                locomotive.validateTextNotPresent("Goodbye");
+            }
+        }).isInstanceOf(AssertionError.class);
+        verify(mockDriver, times(2))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(any(By.class));
+    }
+
+    @Test
+    public void test_text_presence_falls_back_to_page_source() {
+        when(mockDriver.findElements(any(By.class))).thenThrow(new WebDriverException("unsupported"));
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Welcome\"/>");
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateTextPresent("Welcome")
+                .validateTextNotPresent("Goodbye");
+        verify(mockDriver, times(2))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_page_source_is_not_cached_without_ttl() {
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy text=\"Welcome\"/>");
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateTextPresent("Welcome")
+                .validateTextPresent("Welcome");
+        verify(mockDriver, times(2))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_presence_is_answered_from_local_hierarchy() {
+        when(androidConfig.localHierarchy()).thenReturn(true);
+        when(androidConfig.pageSourceCacheMillis()).thenReturn(60000);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.Button resource-id=\"com.joss:id/login\"/>"
+                + "<android.widget.TextView resource-id=\"com.joss:id/row\"/>"
+                + "<android.widget.TextView resource-id=\"com.joss:id/row\"/>"
+                + "</hierarchy>");
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(By.id("com.joss:id/login"))
+                .validateNotPresent(By.id("com.joss:id/logout"));
+        Assertions.assertThat(locomotive.isPresent(By.id("com.joss:id/login")))
+                .isTrue();
+        Assertions.assertThat(locomotive.countElements(By.id("com.joss:id/row")))
+                .isEqualTo(2);
+        verify(mockDriver, times(1))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(any(By.class));
+    }
+
+    @Test
+    public void test_bare_ids_are_found_locally_in_the_app_package() {
+        when(androidConfig.localHierarchy()).thenReturn(true);
+        when(androidConfig.pageSourceCacheMillis()).thenReturn(60000);
+        when(mockDriver.getPageSource()).thenReturn("<hierarchy>"
+                + "<android.widget.Button resource-id=\"com.joss.conductor.mobile:id/login\"/>"
+                + "</hierarchy>");
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(By.id("login"));
+        verify(mockDriver, never())
+                .findElements(any(By.class));
+    }
+
+    @Test
+    public void test_local_hierarchy_is_skipped_without_page_source_reuse() {
+        WebElement element = mock(WebElement.class);
+        when(androidConfig.localHierarchy()).thenReturn(true);
+        when(mockDriver.findElements(any(By.class))).thenReturn(Collections.singletonList(element));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(By.id("login"));
+        Assertions.assertThat(locomotive.countElements(By.id("login")))
+                .isEqualTo(1);
+        verify(mockDriver, never())
+                .getPageSource();
+    }
+
     @Test
     public void test_auto_accept_alerts_are_on_compatibilities_ios() {
         Locomotive locomotive = new Locomotive(iosConfig, mockDriver);
@@ -403,4 +832,510 @@ public class LocomotiveTest {
                 .isNull();
     }
 
+    @Test
+    public void test_swipe_times_sends_each_swipe_on_its_own() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        locomotive.swipeDown(3);
+
+        verify(mockDriver, times(3))
+                .swipe(50, 50, 50, 1, /*SWIPE_DURATION_MILLS=*/2000);
+    }
+
+    @Test
+    public void test_gesture_finger_swipes_once() {
+        final Gesture gesture = new Locomotive(androidConfig, mockDriver).gesture()
+                .swipe(new Point(50, 50), new Point(50, 1), 500);
+
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                gesture.swipe(new Point(50, 50), new Point(50, 1), 500);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        gesture.finger()
+                .swipe(new Point(60, 50), new Point(60, 1), 500)
+                .perform();
+        verify(mockDriver, times(1))
+                .performMultiTouchAction(any(MultiTouchAction.class));
+    }
+
+    @Test
+    public void test_ios_gesture_moves_relative_to_press() {
+        Locomotive locomotive = new Locomotive(iosConfig, mockDriver);
+        locomotive.gesture()
+                .swipe(new Point(50, 50), new Point(50, 20), 500)
+                .perform();
+
+        ArgumentCaptor<TouchAction> captor = ArgumentCaptor.forClass(TouchAction.class);
+        verify(mockDriver, times(1))
+                .performTouchAction(captor.capture());
+        Assertions.assertThat(describe(captor.getValue()))
+                .isEqualTo("press(50, 50) wait(500) moveTo(0, -30) release");
+    }
+
+    @Test
+    public void test_pinch_is_sent_as_one_multi_touch_action() {
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        locomotive.gesture()
+                .pinch(new Point(50, 50), 20, 300)
+                .perform();
+
+        verify(mockDriver, times(1))
+                .performMultiTouchAction(any(MultiTouchAction.class));
+        verify(mockDriver, never())
+                .performTouchAction(any(TouchAction.class));
+    }
+
+    @Test
+    public void test_swipe_duration_follows_velocity() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(1000, 2000));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+        when(androidConfig.swipeVelocity()).thenReturn(1000);
+        when(androidConfig.swipeMinMillis()).thenReturn(100);
+        when(androidConfig.swipeMaxMillis()).thenReturn(800);
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        locomotive.swipeCenter(SwipeElementDirection.DOWN);
+        locomotive.swipeCenterLong(SwipeElementDirection.DOWN);
+        locomotive.fling(SwipeElementDirection.UP);
+        locomotive.drag(SwipeElementDirection.RIGHT, (WebElement) null, 0.25f);
+
+        verify(mockDriver, times(1))
+                .swipe(500, 1000, 500, 1500, /*500px at 1000px/s=*/500);
+        verify(mockDriver, times(1))
+                .swipe(500, 1000, 500, 1999, /*999px capped at=*/800);
+        verify(mockDriver, times(1))
+                .swipe(500, 1000, 500, 1, /*fling=*/100);
+        verify(mockDriver, times(1))
+                .swipe(500, 1000, 750, 1000, /*drag=*/2000);
+    }
+
+    @Test
+    public void test_swipe_to_checks_once_after_every_swipe() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        By id = mock(By.class);
+        WebElement element = mock(WebElement.class);
+        when(mockDriver.manage()).thenReturn(options);
+        when(mockDriver.getPageSource()).thenReturn("<a/>", "<b/>", "<c/>");
+        when(mockDriver.findElements(id)).thenReturn(
+                Collections.<WebElement>emptyList(),
+                Collections.<WebElement>emptyList(),
+                Collections.singletonList(element));
+        when(androidConfig.timeout()).thenReturn(5);
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        long start = System.currentTimeMillis();
+
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, id, 5))
+                .isSameAs(element);
+        Assertions.assertThat(System.currentTimeMillis() - start)
+                .isLessThan(1000);
+        verify(mockDriver, times(2))
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verify(mockDriver, times(3))
+                .findElements(id);
+        verify(mockDriver, times(/*after the first swipe only=*/1))
+                .getPageSource();
+    }
+
+    @Test
+    public void test_swipe_to_stops_at_end_of_list() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        By id = mock(By.class);
+        when(mockDriver.manage()).thenReturn(options);
+        when(mockDriver.getPageSource()).thenReturn("<end/>");
+        when(mockDriver.findElements(id)).thenReturn(Collections.<WebElement>emptyList());
+        when(androidConfig.timeout()).thenReturn(5);
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, id, 10))
+                .isNull();
+        verify(mockDriver, times(/*the second swipe showed the same screen=*/2))
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_swipe_to_does_not_download_page_source_for_visible_element() {
+        By id = mock(By.class);
+        WebElement element = mock(WebElement.class);
+        when(mockDriver.findElements(id)).thenReturn(Collections.singletonList(element));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        Assertions.assertThat(locomotive.swipeTo(SwipeElementDirection.UP, id, 5))
+                .isSameAs(element);
+        verify(mockDriver, never())
+                .getPageSource();
+        verify(mockDriver, never())
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_stream_items_reads_each_item_once() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 4), listPage(3, 6), listPage(5, 6));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        List<String> texts = new ArrayList<String>();
+        Iterator<HierarchyNode> items = locomotive.iterateItems(By.id("com.joss:id/row"), SwipeElementDirection.UP);
+        while (items.hasNext()) {
+            texts.add(items.next().getText());
+        }
+
+        Assertions.assertThat(texts)
+                .containsExactly("Row 1", "Row 2", "Row 3", "Row 4", "Row 5", "Row 6");
+        verify(mockDriver, times(2))
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_stream_items_keeps_items_showing_the_same_content() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+        when(mockDriver.getPageSource()).thenReturn(textPage("A", "B", "C"), textPage("C", "A", "B", "D"),
+                textPage("C", "A", "B", "D"));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        List<String> texts = new ArrayList<String>();
+        Iterator<HierarchyNode> items = locomotive.iterateItems(By.id("com.joss:id/row"), SwipeElementDirection.UP);
+        while (items.hasNext()) {
+            texts.add(items.next().getText());
+        }
+
+        Assertions.assertThat(texts)
+                .containsExactly("A", "B", "C", "A", "B", "D");
+    }
+
+    @Test
+    public void test_stream_items_matches_items_cut_off_at_the_edge() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+        // Card 4 shows its title only before the swipe, card 3 its subtitle only after it
+        when(mockDriver.getPageSource()).thenReturn(cardPage(1, 4, false, true), cardPage(3, 6, true, false),
+                cardPage(3, 6, true, false));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        List<String> cards = new ArrayList<String>();
+        Iterator<HierarchyNode> items = locomotive.iterateItems(By.id("com.joss:id/card"), SwipeElementDirection.UP);
+        while (items.hasNext()) {
+            cards.add(items.next().getAttribute("content-desc"));
+        }
+
+        Assertions.assertThat(cards)
+                .containsExactly("Card 1", "Card 2", "Card 3", "Card 4", "Card 5", "Card 6");
+    }
+
+    @Test
+    public void test_stream_items_reads_identical_rows_longer_than_a_page() {
+        WebDriver.Window window = mock(WebDriver.Window.class);
+        when(window.getSize()).thenReturn(new Dimension(100, 100));
+
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        when(options.window()).thenReturn(window);
+
+        when(mockDriver.manage()).thenReturn(options);
+        // Eight identical rows 25 pixels high and an end row, each swipe moves the list by 49 pixels
+        // until it stops at the end row
+        when(mockDriver.getPageSource()).thenReturn(rowPage(0, "A", "A", "A", "A"),
+                rowPage(1, "A", "A", "A", "A"), rowPage(2, "A", "A", "A", "A"), rowPage(0, "A", "A", "A", "End"),
+                rowPage(0, "A", "A", "A", "End"));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+        List<String> texts = new ArrayList<String>();
+        Iterator<HierarchyNode> items = locomotive.iterateItems(By.id("com.joss:id/row"), SwipeElementDirection.UP);
+        while (items.hasNext()) {
+            texts.add(items.next().getText());
+        }
+
+        Assertions.assertThat(texts)
+                .containsExactly("A", "A", "A", "A", "A", "A", "A", "A", "End");
+        verify(mockDriver, times(4))
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_stream_items_stops_when_consumer_stops() {
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 4));
+
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        Assertions.assertThat(locomotive.streamItems(By.id("com.joss:id/row")).limit(3).count())
+                .isEqualTo(3);
+        verify(mockDriver, never())
+                .swipe(anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_get_texts_reads_one_page_source() {
+        when(androidConfig.pageSourceCacheMillis()).thenReturn(60000);
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 30));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        List<String> texts = locomotive.getTexts(By.id("com.joss:id/row"));
+
+        Assertions.assertThat(texts)
+                .hasSize(30)
+                .startsWith("Row 1", "Row 2")
+                .endsWith("Row 30");
+        Assertions.assertThat(locomotive.getAttributes(By.id("com.joss:id/row"), "bounds"))
+                .startsWith("[0,10]", "[0,20]");
+        verify(mockDriver, times(1))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(any(By.class));
+    }
+
+    @Test
+    public void test_get_texts_reads_elements_without_page_source() {
+        By rows = By.id("com.joss:id/row");
+        List<WebElement> elements = new ArrayList<WebElement>();
+        for (int i = 1; i <= 30; i++) {
+            WebElement element = mock(WebElement.class);
+            when(element.getText()).thenReturn("Row " + i);
+            when(element.getAttribute("enabled")).thenReturn(String.valueOf(i % 2 == 0));
+            elements.add(element);
+        }
+        when(mockDriver.findElements(rows)).thenReturn(elements);
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        List<String> texts = locomotive.getTexts(rows);
+
+        Assertions.assertThat(texts)
+                .hasSize(30)
+                .startsWith("Row 1", "Row 2")
+                .endsWith("Row 30");
+        Assertions.assertThat(locomotive.getAttributes(rows, "enabled"))
+                .startsWith("false", "true");
+        verify(mockDriver, times(2))
+                .findElements(rows);
+        for (WebElement element : elements) {
+            verify(element, times(1))
+                    .getText();
+        }
+    }
+
+    @Test
+    public void test_get_texts_on_ios_reads_elements() {
+        By rows = MobileBy.AccessibilityId("row");
+        WebElement first = mock(WebElement.class);
+        when(first.getText()).thenReturn("Row 1");
+        when(first.getAttribute("name")).thenReturn("row");
+        WebElement second = mock(WebElement.class);
+        when(second.getText()).thenReturn("Row 2");
+        when(second.getAttribute("name")).thenReturn("row");
+        when(mockDriver.findElements(rows)).thenReturn(Arrays.asList(first, second));
+        when(mockDriver.getPageSource()).thenReturn("<AppiumAUT>"
+                + "<XCUIElementTypeStaticText name=\"row\" label=\"Row 1\"/>"
+                + "<XCUIElementTypeStaticText name=\"row\" label=\"Row 2\"/>"
+                + "</AppiumAUT>");
+        Locomotive locomotive = new Locomotive(iosConfig, mockDriver);
+
+        Assertions.assertThat(locomotive.getTexts(rows))
+                .containsExactly("Row 1", "Row 2");
+        Assertions.assertThat(locomotive.getAttributes(rows, "name"))
+                .containsExactly("row", "row");
+        verify(mockDriver, never())
+                .getPageSource();
+    }
+
+    @Test
+    public void test_validate_all_checks_one_page_source() {
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 4));
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validateAll()
+                .present(By.id("com.joss:id/row"))
+                .notPresent(By.id("com.joss:id/error"))
+                .text(By.xpath("//*[@text='Row 2']"), "Row 2")
+                .attribute(By.id("com.joss:id/row"), "bounds", "^\\[0,\\d+\\]$")
+                .validate();
+
+        verify(mockDriver, times(1))
+                .getPageSource();
+        verify(mockDriver, never())
+                .findElements(any(By.class));
+    }
+
+    @Test
+    public void test_validate_all_reports_every_mismatch() {
+        By title = By.xpath("//android.widget.TextView[1]");
+        WebElement element = mock(WebElement.class);
+        when(element.getText()).thenReturn("Goodbye");
+        when(mockDriver.findElements(title)).thenReturn(Collections.singletonList(element));
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 4));
+        final Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                locomotive.validateAll()
+                        .present(By.id("com.joss:id/row"))
+                        .present(By.id("com.joss:id/login"))
+                        .notPresent(By.id("com.joss:id/row"))
+                        .text(title, "Welcome")
+                        .validate();
+            }
+        }).isInstanceOf(AssertionError.class)
+                .hasMessageContaining("3 of 4 validations failed")
+                .hasMessageContaining("Could not find By.id: com.joss:id/login")
+                .hasMessageContaining("Element By.id: com.joss:id/row exists!")
+                .hasMessageContaining("[expected: Welcome] [actual: Goodbye]");
+        verify(mockDriver, times(1))
+                .findElements(title);
+    }
+
+    @Test
+    public void test_validate_all_retries_keep_elements_found() {
+        By login = By.id("com.joss:id/login");
+        WebElement element = mock(WebElement.class);
+        when(mockDriver.findElements(login)).thenReturn(Collections.singletonList(element));
+        when(mockDriver.getPageSource()).thenReturn(listPage(1, 1), listPage(1, 2));
+        when(androidConfig.elementCache()).thenReturn(true);
+        when(androidConfig.retries()).thenReturn(1);
+        Locomotive locomotive = new Locomotive(androidConfig, mockDriver);
+
+        locomotive.validatePresent(login)
+                .validateAll()
+                .text(By.xpath("//*[@text='Row 2']"), "Row 2")
+                .validate()
+                .getText(login);
+
+        verify(mockDriver, times(2))
+                .getPageSource();
+        verify(mockDriver, times(1))
+                .findElements(login);
+    }
+
+    @Test
+    public void test_validate_all_reads_ios_text_from_server() {
+        By title = By.id("title");
+        WebElement element = mock(WebElement.class);
+        when(element.getText()).thenReturn("Welcome");
+        when(mockDriver.findElements(title)).thenReturn(Collections.singletonList(element));
+        when(mockDriver.getPageSource()).thenReturn("<AppiumAUT>"
+                + "<XCUIElementTypeTextField name=\"title\" label=\"Title\" value=\"Welcome\"/>"
+                + "</AppiumAUT>");
+        Locomotive locomotive = new Locomotive(iosConfig, mockDriver);
+
+        locomotive.validateAll()
+                .present(title)
+                .text(title, "Welcome")
+                .validate();
+
+        verify(mockDriver, times(1))
+                .findElements(title);
+    }
+
+    private static String textPage(String... texts) {
+        StringBuilder source = new StringBuilder("<hierarchy><android.widget.ListView>");
+        for (String text : texts) {
+            source.append("<android.widget.TextView resource-id=\"com.joss:id/row\" text=\"")
+                    .append(text)
+                    .append("\"/>");
+        }
+        return source.append("</android.widget.ListView></hierarchy>").toString();
+    }
+
+    private static String cardPage(int first, int last, boolean firstCutOff, boolean lastCutOff) {
+        StringBuilder source = new StringBuilder("<hierarchy><android.widget.ListView>");
+        for (int i = first; i <= last; i++) {
+            source.append("<android.widget.LinearLayout resource-id=\"com.joss:id/card\" content-desc=\"Card ")
+                    .append(i)
+                    .append("\">");
+            if (i != first || !firstCutOff) {
+                source.append("<android.widget.TextView text=\"Title ").append(i).append("\"/>");
+            }
+            if (i != last || !lastCutOff) {
+                source.append("<android.widget.TextView text=\"Subtitle ").append(i).append("\"/>");
+            }
+            source.append("</android.widget.LinearLayout>");
+        }
+        return source.append("</android.widget.ListView></hierarchy>").toString();
+    }
+
+    private static String rowPage(int top, String... texts) {
+        StringBuilder source = new StringBuilder("<hierarchy><android.widget.ListView>");
+        for (int i = 0; i < texts.length; i++) {
+            int y = top + i * 25;
+            source.append("<android.widget.TextView resource-id=\"com.joss:id/row\" text=\"")
+                    .append(texts[i])
+                    .append("\" bounds=\"[0,").append(y).append("][100,").append(y + 25).append("]\"/>");
+        }
+        return source.append("</android.widget.ListView></hierarchy>").toString();
+    }
+
+    private static String listPage(int first, int last) {
+        StringBuilder source = new StringBuilder("<hierarchy><android.widget.ListView>");
+        for (int i = first; i <= last; i++) {
+            source.append("<android.widget.TextView resource-id=\"com.joss:id/row\" text=\"Row ")
+                    .append(i)
+                    .append("\" bounds=\"[0,").append(i * 10).append("]\"/>");
+        }
+        return source.append("</android.widget.ListView></hierarchy>").toString();
+    }
+
+    /**
+     * Render the steps of a touch action like <code>press(1, 2) wait(100) moveTo(3, 4) release</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private static String describe(TouchAction action) {
+        try {
+            Method getParameters = TouchAction.class.getDeclaredMethod("getParameters");
+            getParameters.setAccessible(true);
+            List<Map<String, Object>> steps = (List<Map<String, Object>>)
+                    ((Map<String, Object>) getParameters.invoke(action)).get("actions");
+            List<String> described = new ArrayList<String>();
+            for (Map<String, Object> step : steps) {
+                Map<String, Object> options = (Map<String, Object>) step.get("options");
+                if (options == null || options.isEmpty()) {
+                    described.add(String.valueOf(step.get("action")));
+                } else if (options.containsKey("ms")) {
+                    described.add(step.get("action") + "(" + options.get("ms") + ")");
+                } else {
+                    described.add(step.get("action") + "(" + options.get("x") + ", " + options.get("y") + ")");
+                }
+            }
+            return String.join(" ", described);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.FallbackBy;
+import com.joss.conductor.mobile.util.PageUtil;
+import io.appium.java_client.MobileBy;
+import org.assertj.swing.assertions.Assertions;
+import org.assertj.core.api.ThrowableAssert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Created on 10/18/26.
+ */
+public class PageUtilTest {
+
+    private Config androidConfig;
+    private Config iosConfig;
+
+    @BeforeMethod
+    public void setup() {
+        androidConfig = mock(Config.class);
+        when(androidConfig.platformName()).thenReturn(Platform.ANDROID);
+        when(androidConfig.appPackageName()).thenReturn("com.joss.conductor.mobile");
+
+        iosConfig = mock(Config.class);
+        when(iosConfig.platformName()).thenReturn(Platform.IOS);
+    }
+
+    @Test
+    public void test_android_defaults_to_resource_id() {
+        Assertions.assertThat(PageUtil.buildBy(androidConfig, "login"))
+                .isEqualTo(By.id("com.joss.conductor.mobile:id/login"));
+    }
+
+    @Test
+    public void test_ios_defaults_to_accessibility_id_with_xpath_fallback() {
+        By by = PageUtil.buildBy(iosConfig, "login");
+
+        Assertions.assertThat(by).isInstanceOf(FallbackBy.class);
+        Assertions.assertThat(((FallbackBy) by).getPrimary())
+                .isEqualTo(MobileBy.AccessibilityId("login"));
+        Assertions.assertThat(((FallbackBy) by).getFallback())
+                .isEqualTo(By.xpath("//*[@name='login']"));
+    }
+
+    @Test
+    public void test_text_contains_is_searched_on_device() {
+        Assertions.assertThat(PageUtil.buildTextContains(Platform.ANDROID, "Say \"hi\""))
+                .isEqualTo(MobileBy.AndroidUIAutomator("new UiSelector().textContains(\"Say \\\"hi\\\"\")"));
+        Assertions.assertThat(PageUtil.buildTextContains(Platform.IOS, "It's").toString())
+                .isEqualTo("By.IosNsPredicate: label CONTAINS 'It\\'s' OR value CONTAINS 'It\\'s'");
+        Assertions.assertThat(PageUtil.buildTextContains(Platform.NONE, "Welcome"))
+                .isNull();
+    }
+
+    @Test
+    public void test_configured_strategies() {
+        when(iosConfig.locatorStrategy()).thenReturn("iosPredicate");
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login").toString())
+                .isEqualTo("By.IosNsPredicate: name == 'login'");
+
+        when(iosConfig.locatorStrategy()).thenReturn("iosClassChain");
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login").toString())
+                .isEqualTo("By.IosClassChain: **/*[`name == \"login\"`]");
+
+        when(iosConfig.locatorStrategy()).thenReturn("xpath");
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "login"))
+                .isEqualTo(By.xpath("//*[@name='login']"));
+
+        when(androidConfig.locatorStrategy()).thenReturn("uiautomator");
+        Assertions.assertThat(PageUtil.buildBy(androidConfig, "login"))
+                .isEqualTo(MobileBy.AndroidUIAutomator("new UiSelector().resourceId(\"com.joss.conductor.mobile:id/login\")"));
+    }
+
+    @Test
+    public void test_locators_are_cached() {
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "cached"))
+                .isSameAs(PageUtil.buildBy(iosConfig, "cached"));
+    }
+
+    @Test
+    public void test_fallback_used_when_primary_strategy_unsupported() {
+        WebElement element = mock(WebElement.class);
+        By primary = mock(By.class);
+        By fallback = mock(By.class);
+        SearchContext context = mock(SearchContext.class);
+        when(primary.findElements(context)).thenThrow(new UnsupportedCommandException("Locator Strategy is not supported"));
+        when(fallback.findElements(context)).thenReturn(Collections.singletonList(element));
+
+        FallbackBy by = new FallbackBy(primary, fallback);
+        List<WebElement> found = by.findElements(context);
+        by.findElements(context);
+
+        Assertions.assertThat(found).containsExactly(element);
+        verify(primary, times(1)).findElements(context);
+        verify(fallback, times(2)).findElements(context);
+    }
+
+    @Test
+    public void test_fallback_not_used_on_other_errors() {
+        By primary = mock(By.class);
+        By fallback = mock(By.class);
+        final SearchContext context = mock(SearchContext.class);
+        when(primary.findElements(context)).thenThrow(new WebDriverException("socket hang up"))
+                .thenReturn(Collections.<WebElement>emptyList());
+
+        final FallbackBy by = new FallbackBy(primary, fallback);
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                by.findElements(context);
+            }
+        }).isInstanceOf(WebDriverException.class);
+        by.findElements(context);
+
+        verify(primary, times(2)).findElements(context);
+        verify(fallback, never()).findElements(context);
+    }
+
+    @Test
+    public void test_fallback_keeps_its_identity() {
+        SearchContext context = mock(SearchContext.class);
+        By primary = mock(By.class);
+        By fallback = mock(By.class);
+        when(primary.findElements(context)).thenThrow(new InvalidSelectorException("invalid selector"));
+        FallbackBy by = new FallbackBy(primary, fallback);
+        String before = by.toString();
+        int hash = by.hashCode();
+
+        by.findElements(context);
+
+        Assertions.assertThat(by.toString()).isEqualTo(before);
+        Assertions.assertThat(by.hashCode()).isEqualTo(hash);
+        Assertions.assertThat(by).isEqualTo(new FallbackBy(primary, fallback));
+    }
+
+    @Test
+    public void test_xpath_quotes_identifiers() {
+        when(iosConfig.locatorStrategy()).thenReturn("xpath");
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "it's").toString())
+                .isEqualTo("By.xpath: //*[@name=\"it's\"]");
+        Assertions.assertThat(PageUtil.buildBy(iosConfig, "it's \"ok\"").toString())
+                .isEqualTo("By.xpath: //*[@name=concat('it', \"'\", 's \"ok\"')]");
+
+        when(androidConfig.locatorStrategy()).thenReturn("xpath");
+        Assertions.assertThat(PageUtil.buildBy(androidConfig, "login").toString())
+                .isEqualTo("By.xpath: //*[@resource-id='com.joss.conductor.mobile:id/login']");
+    }
+}
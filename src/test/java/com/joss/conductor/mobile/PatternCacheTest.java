@@ -0,0 +1,36 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.PatternCache;
+import org.assertj.swing.assertions.Assertions;
+import org.testng.annotations.Test;
+
+/**
+ * Created on 10/18/26.
+ */
+public class PatternCacheTest {
+
+    @Test
+    public void find_reuses_compiled_patterns() {
+        PatternCache cache = new PatternCache();
+
+        Assertions.assertThat(cache.find("^(true|yes)$", "true")).isTrue();
+        Assertions.assertThat(cache.find("^(true|yes)$", "false")).isFalse();
+        Assertions.assertThat(cache.find("^(true|yes)$", "yes")).isTrue();
+        Assertions.assertThat(cache.find("\\d+", "row 12")).isTrue();
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void capacity_evicts_least_recently_used() {
+        PatternCache cache = new PatternCache(2);
+
+        cache.find("a", "a");
+        cache.find("b", "b");
+        cache.find("a", "a");
+        cache.find("c", "c");
+
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.find("a", "xax")).isTrue();
+        Assertions.assertThat(cache.find("c", "xbx")).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.joss.conductor.mobile;
+
+import com.joss.conductor.mobile.util.PropertiesUtil;
+import org.assertj.core.api.ThrowableAssert;
+import org.assertj.swing.assertions.Assertions;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Created on 10/18/26.
+ */
+public class PropertiesUtilTest {
+
+    @AfterMethod
+    public void teardown() {
+        PropertiesUtil.clearCache();
+    }
+
+    @Test
+    public void test_properties_are_loaded_once() {
+        Properties first = PropertiesUtil.getDefaultProperties(this);
+        Properties second = PropertiesUtil.getDefaultProperties(this);
+        Assertions.assertThat(second)
+                .isSameAs(first);
+    }
+
+    @Test
+    public void test_cleared_cache_loads_again() {
+        Properties first = PropertiesUtil.getDefaultProperties(this);
+        PropertiesUtil.clearCache();
+        Assertions.assertThat(PropertiesUtil.getDefaultProperties(this))
+                .isNotSameAs(first);
+    }
+
+    @Test
+    public void test_shared_properties_are_read_only() {
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                PropertiesUtil.getDefaultProperties(PropertiesUtilTest.this)
+                        .setProperty(Constants.DEFAULT_PROPERTY_TIMEOUT, "1");
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void test_shared_properties_views_are_read_only() {
+        final Properties properties = PropertiesUtil.getDefaultProperties(this);
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                properties.putIfAbsent("conductorNew", "1");
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                properties.merge(Constants.DEFAULT_PROPERTY_TIMEOUT, "1", new BiFunction<Object, Object, Object>() {
+                    public Object apply(Object oldValue, Object value) {
+                        return value;
+                    }
+                });
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                properties.keySet().clear();
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                properties.entrySet().clear();
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                properties.values().clear();
+            }
+        }).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -2,16 +2,49 @@ package com.joss.conductor.mobile;
 
 import com.joss.conductor.mobile.util.ScreenShotUtil;
 import com.joss.conductor.mobile.util.WaitUtil;
+import io.appium.java_client.AppiumDriver;
 import org.assertj.core.api.Assertions;
+import org.openqa.selenium.OutputType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Created on 1/24/17.
  */
 public class ScreenshotUtilTest {
 
+    private Path directory;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        // A directory of its own, leftovers of other runs or tests writing screenshots in parallel are not counted
+        Path screenshots = Paths.get(System.getProperty("user.dir"), "target", "test-screenshots");
+        Files.createDirectories(screenshots);
+        directory = Files.createTempDirectory(screenshots, "ScreenshotUtilTest");
+    }
+
+    @AfterMethod
+    public void teardown() throws IOException {
+        ScreenShotUtil.awaitPending(5000);
+        File[] written = directory.toFile().listFiles();
+        if (written != null) {
+            for (File file : written) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(directory);
+    }
+
     @Test
     public void test_file_name_creation_is_unique() {
         String path = "Name of the Test";
@@ -37,4 +70,23 @@ public class ScreenshotUtilTest {
                 .isLessThanOrEqualTo(120);
     }
 
+    @Test
+    public void test_screenshot_is_written_in_background() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        AppiumDriver driver = mock(AppiumDriver.class);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(png);
+        Locomotive locomotive = new Locomotive(mock(LocomotiveConfig.class), driver);
+
+        ScreenShotUtil.take(locomotive, directory.getFileName().toString(), "background");
+
+        Assertions.assertThat(ScreenShotUtil.awaitPending(5000))
+                .isTrue();
+        Assertions.assertThat(ScreenShotUtil.getQueueDepth())
+                .isEqualTo(0);
+        File[] written = directory.toFile().listFiles();
+        Assertions.assertThat(written)
+                .hasSize(1);
+        Assertions.assertThat(Files.readAllBytes(written[0].toPath()))
+                .isEqualTo(png);
+    }
 }
@@ -0,0 +1,121 @@
+package com.joss.conductor.mobile;
+
+import io.appium.java_client.AppiumDriver;
+import org.assertj.swing.assertions.Assertions;
+import org.mockito.InOrder;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.SessionId;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Created on 10/18/26.
+ */
+public class SessionPoolTest {
+
+    private SessionPool pool;
+    private DesiredCapabilities capabilities;
+
+    @BeforeMethod
+    public void setup() {
+        pool = new SessionPool();
+        capabilities = new DesiredCapabilities();
+        capabilities.setCapability("udid", "qwerty");
+    }
+
+    private AppiumDriver healthyDriver() {
+        AppiumDriver driver = mock(AppiumDriver.class);
+        when(driver.getSessionId()).thenReturn(new SessionId("session"));
+        when(driver.getSessionDetails()).thenReturn(Collections.<String, Object>emptyMap());
+        return driver;
+    }
+
+    @Test
+    public void test_empty_pool_leases_nothing() {
+        Assertions.assertThat(pool.lease(capabilities))
+                .isNull();
+    }
+
+    @Test
+    public void test_released_session_is_reset_and_leased_again() {
+        AppiumDriver driver = healthyDriver();
+
+        pool.release(capabilities, driver, /*relaunch=*/false);
+
+        verify(driver, times(1)).resetApp();
+        verify(driver, never()).quit();
+        Assertions.assertThat(pool.lease(capabilities))
+                .isSameAs(driver);
+        Assertions.assertThat(pool.idleCount())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void test_relaunch_keeps_app_data() {
+        AppiumDriver driver = healthyDriver();
+
+        pool.release(capabilities, driver, /*relaunch=*/true);
+
+        verify(driver, times(1)).closeApp();
+        verify(driver, times(1)).launchApp();
+        verify(driver, never()).resetApp();
+    }
+
+    @Test
+    public void test_sessions_are_keyed_by_capabilities() {
+        pool.release(capabilities, healthyDriver(), /*relaunch=*/false);
+
+        DesiredCapabilities other = new DesiredCapabilities();
+        other.setCapability("udid", "asdfgh");
+        Assertions.assertThat(pool.lease(other))
+                .isNull();
+    }
+
+    @Test
+    public void test_session_failing_reset_is_evicted() {
+        AppiumDriver driver = healthyDriver();
+        doThrow(new WebDriverException("session crashed")).when(driver).resetApp();
+
+        pool.release(capabilities, driver, /*relaunch=*/false);
+
+        verify(driver, times(1)).quit();
+        Assertions.assertThat(pool.lease(capabilities))
+                .isNull();
+    }
+
+    @Test
+    public void test_poisoned_session_is_evicted_on_lease() {
+        AppiumDriver driver = healthyDriver();
+        pool.release(capabilities, driver, /*relaunch=*/false);
+        when(driver.getSessionDetails()).thenThrow(new WebDriverException("session is gone"));
+
+        Assertions.assertThat(pool.lease(capabilities))
+                .isNull();
+        verify(driver, times(1)).quit();
+    }
+
+    @Test
+    public void test_server_lease_is_kept_until_session_quits() throws Exception {
+        AppiumServerManager servers = mock(AppiumServerManager.class);
+        URL serverUrl = new URL("http://127.0.0.1:4723/wd/hub");
+        pool = new SessionPool(servers);
+        AppiumDriver driver = healthyDriver();
+
+        pool.release(capabilities, driver, /*relaunch=*/false, serverUrl);
+        Assertions.assertThat(pool.lease(capabilities))
+                .isSameAs(driver);
+        pool.release(capabilities, driver, /*relaunch=*/false, /*serverUrl=*/null);
+        verify(servers, never()).release(any(URL.class));
+
+        pool.shutdown();
+        InOrder inOrder = inOrder(driver, servers);
+        inOrder.verify(driver).quit();
+        inOrder.verify(servers).release(serverUrl);
+    }
+}
@@ -0,0 +1,34 @@
+package com.joss.conductor.mobile;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.assertj.swing.assertions.Assertions;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Created on 10/18/26.
+ */
+public class TestListenerTest {
+
+    @Test
+    public void test_parallel_methods_fail_fast() {
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                TestListener.checkParallelMode(XmlSuite.ParallelMode.METHODS, 4);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThatThrownBy(new ThrowableAssert.ThrowingCallable() {
+            public void call() throws Throwable {
+                TestListener.checkParallelMode(XmlSuite.ParallelMode.TRUE, 4);
+            }
+        }).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void test_parallel_classes_are_allowed() {
+        TestListener.checkParallelMode(XmlSuite.ParallelMode.CLASSES, 4);
+        TestListener.checkParallelMode(XmlSuite.ParallelMode.INSTANCES, 4);
+        TestListener.checkParallelMode(XmlSuite.ParallelMode.NONE, 1);
+        TestListener.checkParallelMode(XmlSuite.ParallelMode.METHODS, 1);
+    }
+}